@@ -0,0 +1,141 @@
+package wellnessapp.bench;
+
+import wellnessapp.models.FitnessData;
+import wellnessapp.models.MealData;
+import wellnessapp.models.MealItem;
+import wellnessapp.models.MealsData;
+import wellnessapp.models.MetCatalog;
+import wellnessapp.utils.BinaryCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares BinaryCodec with Java serialization on a meal log and an activity log of the
+ * given number of entries. For each it prints the encoded size and the time to encode
+ * and to decode, averaged over the rounds after the first, which warms up the JIT.
+ * Three in four entries are catalog items and the rest typed-in names, as in a real log.
+ *
+ * Usage: CodecBench [rounds] [entries...]
+ * The defaults are 5 rounds at 10000 and 1000000 entries; 1M entries needs about
+ * -Xmx1g for the serialized copies.
+ */
+public class CodecBench {
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int[] sizes = {10000, 1000000};
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+        
+        for (int entries : sizes) {
+            run("MealData", mealLog(entries), entries, rounds);
+            run("FitnessData", activityLog(entries), entries, rounds);
+        }
+    }
+    
+    private static void run(String label, Object value, int entries, int rounds) throws Exception {
+        long codecEncode = 0;
+        long codecDecode = 0;
+        long javaEncode = 0;
+        long javaDecode = 0;
+        int codecBytes = 0;
+        int javaBytes = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            byte[] codec = BinaryCodec.encode(value);
+            long encoded = System.nanoTime();
+            BinaryCodec.decode(codec);
+            long decoded = System.nanoTime();
+            byte[] java = serialize(value);
+            long serialized = System.nanoTime();
+            deserialize(java);
+            long deserialized = System.nanoTime();
+            
+            codecBytes = codec.length;
+            javaBytes = java.length;
+            // The first round only warms up
+            if (round > 0 || rounds == 1) {
+                codecEncode += encoded - start;
+                codecDecode += decoded - encoded;
+                javaEncode += serialized - decoded;
+                javaDecode += deserialized - serialized;
+            }
+        }
+        int measured = Math.max(1, rounds - 1);
+        System.out.printf("%s, %d entries%n", label, entries);
+        print("BinaryCodec", codecBytes, codecEncode / measured, codecDecode / measured, entries);
+        print("ObjectOutputStream", javaBytes, javaEncode / measured, javaDecode / measured, entries);
+    }
+    
+    private static void print(String codec, int bytes, long encodeNanos, long decodeNanos, int entries) {
+        System.out.printf("  %-18s %,12d bytes  encode %8.2f ms (%,.0f entries/s)  decode %8.2f ms (%,.0f entries/s)%n",
+                codec, bytes, encodeNanos / 1e6, entries * 1e9 / encodeNanos,
+                decodeNanos / 1e6, entries * 1e9 / decodeNanos);
+    }
+    
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(value);
+        out.close();
+        return bytes.toByteArray();
+    }
+    
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        try {
+            return in.readObject();
+        } finally {
+            in.close();
+        }
+    }
+    
+    private static MealData mealLog(int entries) {
+        List<MealItem> items = new ArrayList<MealItem>();
+        for (Map<String, MealItem> category : MealsData.getAllMealItems().values()) {
+            items.addAll(category.values());
+        }
+        MealData data = new MealData();
+        for (int i = 0; i < entries; i++) {
+            if (i % 4 == 3) {
+                data.addMeal("Home meal " + (i % 50), 300 + i % 200);
+            } else {
+                data.addMeal(items.get(i % items.size()));
+            }
+        }
+        return data;
+    }
+    
+    private static FitnessData activityLog(int entries) {
+        MetCatalog catalog = MetCatalog.getDefault();
+        FitnessData data = new FitnessData();
+        for (int i = 0; i < entries; i++) {
+            int activity = catalog.getId(i % catalog.size());
+            switch (i % 4) {
+                case 0:
+                    data.addWorkout(activity, 10 + i % 40, 12.5 + i % 7);
+                    break;
+                case 1:
+                    data.addSport(activity, 15 + i % 60, 80.25 + i % 90);
+                    break;
+                case 2:
+                    data.addRun(activity, 30, 5 + i % 5, 10, 310.4 + i % 30);
+                    break;
+                default:
+                    data.addActivity("Custom activity " + (i % 50), 100 + i % 80);
+                    break;
+            }
+        }
+        return data;
+    }
+}
@@ -0,0 +1,64 @@
+package wellnessapp.bench;
+
+import wellnessapp.models.CalorieFormatter;
+
+/**
+ * Compares formatting "name - 123.00 kcal" entries with CalorieFormatter against the
+ * String.format path the entries used before. Each round formats the same entries
+ * three ways and prints the average time per entry: with String.format, with
+ * CalorieFormatter into its pooled builder, which is what painting a list does, and
+ * with CalorieFormatter followed by toString(). The texts are checked to be identical
+ * first. The first rounds warm up the JIT; compare the later ones.
+ *
+ * A plain main rather than JMH, as the project is built with javac alone and has no
+ * dependencies to bring JMH in with.
+ *
+ * Usage: FormatBench [entriesPerRound] [rounds]
+ */
+public class FormatBench {
+    private static final String[] NAMES = {"Poha (1 plate)", "Running (30 min, 5 km, 10 km/h)", "Push-ups (20 reps)"};
+    
+    // Read from every formatted entry so the JIT cannot drop them as unused
+    private static long sink;
+    
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        
+        for (int calories = 0; calories < 5000; calories++) {
+            String name = NAMES[calories % NAMES.length];
+            String expected = withStringFormat(name, calories);
+            String actual = CalorieFormatter.appendEntry(CalorieFormatter.pooledBuilder(), name, calories * 100L, 2).toString();
+            if (!expected.equals(actual)) {
+                System.out.println("Texts differ: \"" + expected + "\" and \"" + actual + "\"");
+                System.exit(1);
+            }
+        }
+        
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < entries; i++) {
+                sink += withStringFormat(NAMES[i % NAMES.length], i & 4095).length();
+            }
+            long formatted = System.nanoTime();
+            for (int i = 0; i < entries; i++) {
+                StringBuilder text = CalorieFormatter.pooledBuilder();
+                sink += CalorieFormatter.appendEntry(text, NAMES[i % NAMES.length], (i & 4095) * 100L, 2).length();
+            }
+            long appended = System.nanoTime();
+            for (int i = 0; i < entries; i++) {
+                StringBuilder text = CalorieFormatter.pooledBuilder();
+                sink += CalorieFormatter.appendEntry(text, NAMES[i % NAMES.length], (i & 4095) * 100L, 2).toString().length();
+            }
+            long converted = System.nanoTime();
+            System.out.printf("Round %d: String.format %.0f ns, pooled builder %.0f ns, builder + toString %.0f ns%n",
+                    round, (formatted - start) / (double) entries, (appended - formatted) / (double) entries,
+                    (converted - appended) / (double) entries);
+        }
+    }
+    
+    // The entry text as FitnessData and MealData built it before CalorieFormatter
+    private static String withStringFormat(String name, int calories) {
+        return name + " - " + String.format("%.2f", (double) calories) + " kcal";
+    }
+}
@@ -0,0 +1,49 @@
+package wellnessapp.bench;
+
+import wellnessapp.utils.Validator;
+
+/**
+ * Measures what rejecting an input costs with and without stack traces. Each round
+ * rejects the same inputs with Validator.setStackTraces(true), as the default is,
+ * and then with setStackTraces(false), as the GUI runs, and prints the average time
+ * per rejection. The inputs alternate between a malformed and a negative number, so
+ * both the invalid and the negative exception are thrown. The first rounds warm up
+ * the JIT; compare the later ones.
+ *
+ * Usage: RejectionBench [rejectionsPerRound] [rounds]
+ */
+public class RejectionBench {
+    private static final String[] INPUTS = {"12a", "-4"};
+    
+    // Read from every rejection so the JIT cannot drop them as unused
+    private static long sink;
+    
+    public static void main(String[] args) {
+        int rejections = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        
+        for (int round = 1; round <= rounds; round++) {
+            Validator.setStackTraces(true);
+            double withTraces = nanosPerRejection(rejections);
+            Validator.setStackTraces(false);
+            double stackless = nanosPerRejection(rejections);
+            System.out.printf("Round %d: %.0f ns with stack traces, %.0f ns stackless (%.1fx)%n",
+                    round, withTraces, stackless, withTraces / stackless);
+        }
+    }
+    
+    private static double nanosPerRejection(int rejections) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rejections; i++) {
+            try {
+                Validator.parsePositiveInteger(INPUTS[i & 1], "Steps");
+                throw new IllegalStateException("Input was accepted: " + INPUTS[i & 1]);
+            } catch (IllegalStateException e) {
+                throw e;
+            } catch (Exception e) {
+                sink += e.getMessage().length();
+            }
+        }
+        return (System.nanoTime() - start) / (double) rejections;
+    }
+}
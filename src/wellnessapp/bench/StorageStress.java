@@ -0,0 +1,121 @@
+package wellnessapp.bench;
+
+import wellnessapp.models.FitnessData;
+import wellnessapp.utils.BinaryCodec;
+import wellnessapp.utils.FileHandler;
+import wellnessapp.utils.StorageEngine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stress test of FileHandler under concurrent sessions. Every thread loads, changes and
+ * saves the fitness data of its own users round after round, and loads users shared
+ * with all other threads in between, through a cache much smaller than the user count
+ * so records are evicted and read back from storage all the time. Afterwards the
+ * records are read straight from a reopened storage engine and their steps must add up
+ * to exactly one per save.
+ *
+ * Usage: StorageStress [threads] [usersPerThread] [rounds] [cachedUsers]
+ * The engine is picked by -Dfitpro.storage as in the application, except that the
+ * memory engine is refused as it keeps nothing to check. The data directory is a new
+ * temporary one unless -Dfitpro.dataDir is given. Exits with status 1 if any save was
+ * lost.
+ */
+public class StorageStress {
+    private static final int SHARED_USERS = 16;
+    
+    public static void main(String[] args) throws Exception {
+        final int threads = args.length > 0 ? Integer.parseInt(args[0]) : 48;
+        final int usersPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int cachedUsers = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+        if (System.getProperty("fitpro.storage", "").trim().equalsIgnoreCase("memory")) {
+            System.out.println("The memory engine keeps nothing across a restart; use journal or sharded");
+            System.exit(2);
+        }
+        
+        if (System.getProperty("fitpro.dataDir") == null) {
+            Path directory = Files.createTempDirectory("fitpro-stress");
+            System.setProperty("fitpro.dataDir", directory.toString());
+        }
+        System.setProperty("fitpro.cachedUsers", Integer.toString(cachedUsers));
+        System.out.println("Data directory: " + FileHandler.getDataDirectory());
+        
+        final FileHandler files = FileHandler.getInstance();
+        final AtomicLong saves = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> tasks = new ArrayList<Future<?>>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            tasks.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (int round = 0; round < rounds; round++) {
+                        for (int user = 0; user < usersPerThread; user++) {
+                            String username = userName(thread, user);
+                            FitnessData data = files.loadFitnessData(username);
+                            if (data == null) {
+                                data = new FitnessData();
+                            }
+                            data.setSteps(data.getSteps() + 1);
+                            files.saveFitnessData(username, data);
+                            saves.incrementAndGet();
+                            files.loadFitnessData("shared" + (user % SHARED_USERS));
+                        }
+                    }
+                }
+            }));
+        }
+        executor.shutdown();
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        files.flush();
+        long elapsed = System.nanoTime() - start;
+        System.out.println(saves.get() + " saves from " + threads + " threads in " + elapsed / 1000000 + " ms");
+        System.out.println(files.getCache());
+        files.close();
+        
+        long expected = (long) threads * usersPerThread * rounds;
+        long stored = countSteps(threads, usersPerThread);
+        System.out.println("Steps stored: " + stored + ", expected: " + expected);
+        if (stored != expected) {
+            System.out.println("FAILED: " + (expected - stored) + " saves lost");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+    
+    private static String userName(int thread, int user) {
+        return "t" + thread + "u" + user;
+    }
+    
+    // Reads the records back as a restarted application would, bypassing the cache
+    private static long countSteps(int threads, int usersPerThread) throws IOException {
+        StorageEngine storage = FileHandler.createStorageEngine();
+        storage.open();
+        try {
+            long steps = 0;
+            for (int t = 0; t < threads; t++) {
+                for (int u = 0; u < usersPerThread; u++) {
+                    byte[] payload = storage.get(StorageEngine.KIND_FITNESS, userName(t, u));
+                    if (payload != null) {
+                        steps += ((FitnessData) BinaryCodec.decode(payload)).getSteps();
+                    }
+                }
+            }
+            return steps;
+        } finally {
+            storage.close();
+        }
+    }
+}
@@ -8,6 +8,11 @@ public class NumericValueException extends Exception {
         this.message = message;
     }
     
+    public NumericValueException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.message = message;
+    }
+    
     @Override
     public String getMessage() {
         return message;
@@ -8,6 +8,11 @@ public class SpecialCharacterException extends Exception {
         this.message = message;
     }
     
+    public SpecialCharacterException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.message = message;
+    }
+    
     @Override
     public String getMessage() {
         return message;
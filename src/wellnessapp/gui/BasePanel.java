@@ -2,11 +2,10 @@ package wellnessapp.gui;
 
 import wellnessapp.models.User;
 import wellnessapp.utils.FileHandler;
+import wellnessapp.utils.AnimationClock;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 public abstract class BasePanel extends JPanel {
     protected User user;
@@ -25,18 +24,18 @@ public abstract class BasePanel extends JPanel {
     
     protected void startFadeInAnimation() {
         alpha = 0.0f;
-        Timer fadeTimer = new Timer(20, new ActionListener() {
+        AnimationClock.Animation fadeAnimation = new AnimationClock.Animation(20) {
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 alpha += 0.05f;
                 if (alpha >= 1.0f) {
                     alpha = 1.0f;
-                    ((Timer) e.getSource()).stop();
                 }
-                repaint();
+                AnimationClock.getInstance().repaint(BasePanel.this);
+                return alpha < 1.0f;
             }
-        });
-        fadeTimer.start();
+        };
+        AnimationClock.getInstance().start(fadeAnimation);
     }
     
     @Override
@@ -6,6 +6,7 @@ import wellnessapp.utils.Calculator;
 import wellnessapp.utils.Validator;
 import wellnessapp.utils.FileHandler;
 import wellnessapp.utils.AnimatedButton;
+import wellnessapp.utils.AnimationClock;
 import wellnessapp.exceptions.InvalidInputException;
 import wellnessapp.exceptions.NegativeValueException;
 import wellnessapp.exceptions.DecimalValueException;
@@ -35,8 +36,8 @@ public class CalculatorPanel extends BasePanel {
     private AnimatedButton activeButton;
     
     // Animation variables
-    private Timer bmiAnimationTimer;
-    private Timer bmrAnimationTimer;
+    private AnimationClock.Animation bmiAnimation;
+    private AnimationClock.Animation bmrAnimation;
     private double animatedBMI = 0.0;
     private double animatedBMR = 0.0;
     private double animatedTDEE = 0.0;
@@ -265,14 +266,14 @@ public class CalculatorPanel extends BasePanel {
     }
     
     private void animateBMI(double targetBMI) {
-        if (bmiAnimationTimer != null && bmiAnimationTimer.isRunning()) {
-            bmiAnimationTimer.stop();
+        if (bmiAnimation != null) {
+            AnimationClock.getInstance().stop(bmiAnimation);
         }
         
         animatedBMI = 0.0;
-        bmiAnimationTimer = new Timer(15, new ActionListener() {
+        bmiAnimation = new AnimationClock.Animation(15) {
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 double diff = targetBMI - animatedBMI;
                 if (Math.abs(diff) > 0.01) {
                     animatedBMI += diff / 20.0;
@@ -287,11 +288,12 @@ public class CalculatorPanel extends BasePanel {
                     String category = getBMICategory(animatedBMI);
                     bmiLabel.setText("BMI: " + String.format("%.2f", animatedBMI) + " (" + category + ")");
                     updateBMIColor(category);
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        bmiAnimationTimer.start();
+        };
+        AnimationClock.getInstance().start(bmiAnimation);
     }
     
     private String getBMICategory(double bmi) {
@@ -388,7 +390,7 @@ public class CalculatorPanel extends BasePanel {
             animateTDEE(tdee, activityName);
             
             // Update target calories in MealData
-            MealData mealData = fileHandler.loadMealData().get(user.getUsername());
+            MealData mealData = fileHandler.loadMealData(user.getUsername());
             if (mealData == null) {
                 mealData = new MealData();
             }
@@ -408,14 +410,14 @@ public class CalculatorPanel extends BasePanel {
     }
     
     private void animateBMR(double targetBMR) {
-        if (bmrAnimationTimer != null && bmrAnimationTimer.isRunning()) {
-            bmrAnimationTimer.stop();
+        if (bmrAnimation != null) {
+            AnimationClock.getInstance().stop(bmrAnimation);
         }
         
         animatedBMR = 0.0;
-        bmrAnimationTimer = new Timer(15, new ActionListener() {
+        bmrAnimation = new AnimationClock.Animation(15) {
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 double bmrDiff = targetBMR - animatedBMR;
                 if (Math.abs(bmrDiff) > 0.1) {
                     animatedBMR += bmrDiff / 20.0;
@@ -426,18 +428,19 @@ public class CalculatorPanel extends BasePanel {
                 } else {
                     animatedBMR = targetBMR;
                     bmrLabel.setText("BMR: " + String.format("%.2f", animatedBMR) + " calories/day");
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        bmrAnimationTimer.start();
+        };
+        AnimationClock.getInstance().start(bmrAnimation);
     }
     
     private void animateTDEE(double targetTDEE, String activityName) {
         animatedTDEE = 0.0;
-        Timer tdeeTimer = new Timer(15, new ActionListener() {
+        AnimationClock.Animation tdeeAnimation = new AnimationClock.Animation(15) {
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 double tdeeDiff = targetTDEE - animatedTDEE;
                 if (Math.abs(tdeeDiff) > 0.1) {
                     animatedTDEE += tdeeDiff / 20.0;
@@ -450,10 +453,11 @@ public class CalculatorPanel extends BasePanel {
                     int targetCal = (int) Math.round(targetTDEE);
                     tdeeLabel.setText("<html>TDEE (" + activityName + "): " + String.format("%.2f", animatedTDEE) + 
                         " cal/day<br><b>Target calories set to: " + targetCal + " cal/day</b></html>");
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        tdeeTimer.start();
+        };
+        AnimationClock.getInstance().start(tdeeAnimation);
     }
 }
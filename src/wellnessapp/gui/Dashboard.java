@@ -5,15 +5,24 @@ import wellnessapp.models.FitnessData;
 import wellnessapp.models.MealData;
 import wellnessapp.models.HabitTracker;
 import wellnessapp.models.MindfulnessData;
+import wellnessapp.models.DaySummary;
 import wellnessapp.utils.FileHandler;
 import wellnessapp.utils.AnimatedButton;
+import wellnessapp.utils.AnimationClock;
+import wellnessapp.utils.BackgroundCache;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.LocalDate;
 
 public class Dashboard extends BasePanel {
+    // The initial blue and the five colors of updateProgressBar
+    private static final int PROGRESS_COLORS = 6;
+    // Columns at the right of a progress bar taken by its rounded end
+    private static final int PROGRESS_END_WIDTH = 4;
+    
     private JLabel stepsLabel;
     private JLabel caloriesBurnedLabel;
     private JLabel waterIntakeLabel;
@@ -41,7 +50,8 @@ public class Dashboard extends BasePanel {
     private int targetHabits = 0;
     private int targetMeditationTime = 10;
     
-    private Timer animationTimer;
+    private AnimationClock.Animation countAnimation;
+    private AnimatedButton newDayButton;
     
     public Dashboard(User user) {
         super(user); // Initialize BasePanel (sets user, fileHandler, layout, fade-in)
@@ -218,7 +228,7 @@ public class Dashboard extends BasePanel {
         gbc.anchor = GridBagConstraints.CENTER;
         gbc.fill = GridBagConstraints.NONE;
         gbc.insets = new Insets(20, 10, 10, 10);
-        AnimatedButton newDayButton = new AnimatedButton("New Day");
+        newDayButton = new AnimatedButton("New Day");
         newDayButton.setButtonColors(new Color(255, 152, 0), new Color(255, 193, 7), new Color(255, 143, 0));
         newDayButton.addActionListener(new ActionListener() {
             @Override
@@ -235,72 +245,105 @@ public class Dashboard extends BasePanel {
     
     private void handleNewDay() {
         int confirm = JOptionPane.showConfirmDialog(this, 
-            "Reset all tracking data for a new day?\n\nThis will reset:\n- Fitness activities and calories\n- Meal entries and water intake\n- Habit completion status\n- Meditation time and mood", 
+            "Start a new day?\n\nToday's totals will be saved to your history, then this will reset:\n- Fitness activities and calories\n- Meal entries and water intake\n- Habit completion status\n- Meditation time and mood", 
             "Confirm New Day", 
             JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            // Reset FitnessData
-            FitnessData fitnessData = fileHandler.loadFitnessData().get(user.getUsername());
+            FitnessData fitnessData = fileHandler.loadFitnessData(user.getUsername());
             if (fitnessData == null) {
                 fitnessData = new FitnessData();
             }
-            fitnessData.reset();
-            fileHandler.saveFitnessData(user.getUsername(), fitnessData);
-            
-            // Reset MealData
-            MealData mealData = fileHandler.loadMealData().get(user.getUsername());
+            MealData mealData = fileHandler.loadMealData(user.getUsername());
             if (mealData == null) {
                 mealData = new MealData();
             }
-            mealData.reset();
-            fileHandler.saveMealData(user.getUsername(), mealData);
-            
-            // Reset HabitTracker
-            HabitTracker habitTracker = fileHandler.loadHabitTrackers().get(user.getUsername());
+            HabitTracker habitTracker = fileHandler.loadHabitTracker(user.getUsername());
             if (habitTracker == null) {
                 habitTracker = new HabitTracker();
             }
-            habitTracker.reset();
-            fileHandler.saveHabitTracker(user.getUsername(), habitTracker);
-            
-            // Reset MindfulnessData
-            MindfulnessData mindfulnessData = fileHandler.loadMindfulnessData().get(user.getUsername());
+            MindfulnessData mindfulnessData = fileHandler.loadMindfulnessData(user.getUsername());
             if (mindfulnessData == null) {
                 mindfulnessData = new MindfulnessData();
             }
-            mindfulnessData.reset();
-            fileHandler.saveMindfulnessData(user.getUsername(), mindfulnessData);
-            
-            // Update dashboard display
-            updateMetrics();
             
-            JOptionPane.showMessageDialog(this, "All data reset for new day!", 
-                "Success", JOptionPane.INFORMATION_MESSAGE);
+            // Keep the finished day in the history before clearing it. Writing the history
+            // maps and forces its file, so it runs off the event dispatch thread and the
+            // models are reset back on it once the day is stored
+            long today = LocalDate.now().toEpochDay();
+            habitTracker.recordDay(today);
+            final DaySummary summary = DaySummary.of(today, fitnessData, mealData, habitTracker, mindfulnessData);
+            final FitnessData finishedFitness = fitnessData;
+            final MealData finishedMeals = mealData;
+            final HabitTracker finishedHabits = habitTracker;
+            final MindfulnessData finishedMindfulness = mindfulnessData;
+            newDayButton.setEnabled(false);
+            Thread archiver = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    final boolean archived = fileHandler.archiveDay(user.getUsername(), summary);
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            newDayButton.setEnabled(true);
+                            finishNewDay(archived, finishedFitness, finishedMeals, finishedHabits, finishedMindfulness);
+                        }
+                    });
+                }
+            }, "fitpro-archive-day");
+            archiver.setDaemon(true);
+            archiver.start();
         }
     }
     
+    private void finishNewDay(boolean archived, FitnessData fitnessData, MealData mealData,
+                              HabitTracker habitTracker, MindfulnessData mindfulnessData) {
+        if (!archived) {
+            JOptionPane.showMessageDialog(this,
+                "Today's totals could not be saved to your history, so nothing was reset.\nPlease try again.",
+                "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        
+        fitnessData.reset();
+        fileHandler.saveFitnessData(user.getUsername(), fitnessData);
+        mealData.reset();
+        fileHandler.saveMealData(user.getUsername(), mealData);
+        habitTracker.reset();
+        fileHandler.saveHabitTracker(user.getUsername(), habitTracker);
+        mindfulnessData.reset();
+        fileHandler.saveMindfulnessData(user.getUsername(), mindfulnessData);
+        
+        // Update dashboard display
+        updateMetrics();
+        
+        JOptionPane.showMessageDialog(this, "Today's totals were saved to your history. Ready for a new day!", 
+            "Success", JOptionPane.INFORMATION_MESSAGE);
+    }
+    
     private Object[] createMetricDisplay(int maxValue) {
         // Panel to hold value label and progress bar - matches input field alignment
         JPanel panel = new JPanel(new BorderLayout(5, 5)) {
+            private final BackgroundCache background = new BackgroundCache(1, new BackgroundCache.Painter() {
+                @Override
+                public void paint(Graphics2D g2d, int width, int height, int state) {
+                    // Subtle background gradient
+                    GradientPaint gradient = new GradientPaint(
+                        0, 0, new Color(250, 250, 250),
+                        0, height, new Color(245, 245, 245)
+                    );
+                    g2d.setPaint(gradient);
+                    g2d.fillRoundRect(0, 0, width, height, 5, 5);
+                    
+                    // Subtle border
+                    g2d.setColor(new Color(220, 220, 220));
+                    g2d.setStroke(new BasicStroke(1.0f));
+                    g2d.drawRoundRect(0, 0, width - 1, height - 1, 5, 5);
+                }
+            });
+            
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g.create();
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                // Subtle background gradient
-                GradientPaint gradient = new GradientPaint(
-                    0, 0, new Color(250, 250, 250),
-                    0, getHeight(), new Color(245, 245, 245)
-                );
-                g2d.setPaint(gradient);
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 5, 5);
-                
-                // Subtle border
-                g2d.setColor(new Color(220, 220, 220));
-                g2d.setStroke(new BasicStroke(1.0f));
-                g2d.drawRoundRect(0, 0, getWidth() - 1, getHeight() - 1, 5, 5);
-                
-                g2d.dispose();
+                background.paint(g, this, 0);
                 super.paintComponent(g);
             }
         };
@@ -330,42 +373,54 @@ public class Dashboard extends BasePanel {
         JPanel progressContainer = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
         progressContainer.setOpaque(false);
         JProgressBar progressBar = new JProgressBar(0, maxValue) {
+            private final BackgroundCache track = new BackgroundCache(1, new BackgroundCache.Painter() {
+                @Override
+                public void paint(Graphics2D g2d, int width, int height, int state) {
+                    // Draw background with subtle gradient
+                    GradientPaint bgGradient = new GradientPaint(
+                        0, 0, new Color(245, 245, 245),
+                        0, height, new Color(235, 235, 235)
+                    );
+                    g2d.setPaint(bgGradient);
+                    g2d.fillRoundRect(0, 0, width, height, 5, 5);
+                    
+                    // Border
+                    g2d.setColor(new Color(200, 200, 200));
+                    g2d.setStroke(new BasicStroke(1.0f));
+                    g2d.drawRoundRect(0, 0, width - 1, height - 1, 5, 5);
+                }
+            });
+            // Progress at full width for each foreground color, the state being its RGB value
+            private final BackgroundCache fill = new BackgroundCache(PROGRESS_COLORS, new BackgroundCache.Painter() {
+                @Override
+                public void paint(Graphics2D g2d, int width, int height, int state) {
+                    paintProgress(g2d, new Color(state, true), width, height);
+                }
+            });
+            
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g.create();
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                // Draw background with subtle gradient
-                GradientPaint bgGradient = new GradientPaint(
-                    0, 0, new Color(245, 245, 245),
-                    0, getHeight(), new Color(235, 235, 235)
-                );
-                g2d.setPaint(bgGradient);
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 5, 5);
+                track.paint(g, this, 0);
                 
                 // Draw progress with gradient
                 if (getValue() > 0) {
                     double percentage = (double) getValue() / getMaximum();
                     int progressWidth = (int) (getWidth() * percentage);
-                    
-                    GradientPaint progressGradient = new GradientPaint(
-                        0, 0, getForeground().brighter(),
-                        0, getHeight(), getForeground().darker()
-                    );
-                    g2d.setPaint(progressGradient);
-                    g2d.fillRoundRect(2, 2, progressWidth - 4, getHeight() - 4, 3, 3);
-                    
-                    // Subtle highlight
-                    g2d.setColor(new Color(255, 255, 255, 100));
-                    g2d.fillRoundRect(2, 2, progressWidth - 4, (getHeight() - 4) / 2, 3, 3);
+                    int end = progressWidth - 2;
+                    if (end - 2 >= 2 * PROGRESS_END_WIDTH) {
+                        // The gradient only changes from top to bottom, so a shorter bar is the
+                        // left part of the full one followed by its rounded end
+                        int state = getForeground().getRGB();
+                        fill.paintColumns(g, this, state, 0, end - PROGRESS_END_WIDTH, 0);
+                        fill.paintColumns(g, this, state, getWidth() - 2 - PROGRESS_END_WIDTH,
+                                PROGRESS_END_WIDTH, end - PROGRESS_END_WIDTH);
+                    } else {
+                        Graphics2D g2d = (Graphics2D) g.create();
+                        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                        paintProgress(g2d, getForeground(), progressWidth, getHeight());
+                        g2d.dispose();
+                    }
                 }
-                
-                // Border
-                g2d.setColor(new Color(200, 200, 200));
-                g2d.setStroke(new BasicStroke(1.0f));
-                g2d.drawRoundRect(0, 0, getWidth() - 1, getHeight() - 1, 5, 5);
-                
-                g2d.dispose();
             }
         };
         progressBar.setValue(0);
@@ -381,6 +436,19 @@ public class Dashboard extends BasePanel {
         return new Object[] {valueLabel, progressBar, panel};
     }
     
+    private static void paintProgress(Graphics2D g2d, Color color, int progressWidth, int height) {
+        GradientPaint progressGradient = new GradientPaint(
+            0, 0, color.brighter(),
+            0, height, color.darker()
+        );
+        g2d.setPaint(progressGradient);
+        g2d.fillRoundRect(2, 2, progressWidth - 4, height - 4, 3, 3);
+        
+        // Subtle highlight
+        g2d.setColor(new Color(255, 255, 255, 100));
+        g2d.fillRoundRect(2, 2, progressWidth - 4, (height - 4) / 2, 3, 3);
+    }
+    
     @Override
     protected void loadData() {
         // Dashboard loads data in updateMetrics() method instead
@@ -393,10 +461,10 @@ public class Dashboard extends BasePanel {
     }
     
     public void updateMetrics() {
-        FitnessData fitnessData = fileHandler.loadFitnessData().get(user.getUsername());
-        MealData mealData = fileHandler.loadMealData().get(user.getUsername());
-        HabitTracker habitTracker = fileHandler.loadHabitTrackers().get(user.getUsername());
-        MindfulnessData mindfulnessData = fileHandler.loadMindfulnessData().get(user.getUsername());
+        FitnessData fitnessData = fileHandler.loadFitnessData(user.getUsername());
+        MealData mealData = fileHandler.loadMealData(user.getUsername());
+        HabitTracker habitTracker = fileHandler.loadHabitTracker(user.getUsername());
+        MindfulnessData mindfulnessData = fileHandler.loadMindfulnessData(user.getUsername());
         
         if (fitnessData == null) {
             fitnessData = new wellnessapp.models.FitnessData();
@@ -416,7 +484,7 @@ public class Dashboard extends BasePanel {
         targetCaloriesBurned = fitnessData.getTargetCalories();
         targetWater = mealData.getTargetWater();
         targetCaloriesEaten = mealData.getTargetCalories();
-        targetHabits = habitTracker.getHabits().size();
+        targetHabits = habitTracker.getHabitCount();
         if (targetHabits == 0) {
             targetHabits = 1; // Avoid division by zero
         }
@@ -442,14 +510,14 @@ public class Dashboard extends BasePanel {
     private void animateToValue(int targetSteps, int targetCaloriesBurned, 
                                int targetWater, int targetCaloriesEaten, int targetHabitsCompleted, int targetMeditationTime) {
         // Stop existing animation if running
-        if (animationTimer != null && animationTimer.isRunning()) {
-            animationTimer.stop();
+        if (countAnimation != null) {
+            AnimationClock.getInstance().stop(countAnimation);
         }
         
         // Start new animation
-        animationTimer = new Timer(15, new ActionListener() {
+        countAnimation = new AnimationClock.Animation(15) {
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 boolean stillAnimating = false;
                 
                 // Animate steps
@@ -516,12 +584,10 @@ public class Dashboard extends BasePanel {
                 updateDisplayInternal();
                 
                 // Stop if done
-                if (!stillAnimating) {
-                    ((Timer) e.getSource()).stop();
-                }
+                return stillAnimating;
             }
-        });
-        animationTimer.start();
+        };
+        AnimationClock.getInstance().start(countAnimation);
     }
     
     private void updateDisplayInternal() {
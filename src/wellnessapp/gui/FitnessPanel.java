@@ -2,9 +2,12 @@ package wellnessapp.gui;
 
 import wellnessapp.models.User;
 import wellnessapp.models.FitnessData;
+import wellnessapp.models.CalorieEngine;
+import wellnessapp.models.MetCatalog;
 import wellnessapp.utils.FileHandler;
 import wellnessapp.utils.Validator;
 import wellnessapp.utils.AnimatedButton;
+import wellnessapp.utils.AnimationClock;
 import wellnessapp.exceptions.InvalidInputException;
 import wellnessapp.exceptions.NegativeValueException;
 import wellnessapp.exceptions.DecimalValueException;
@@ -14,8 +17,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.HashMap;
-import java.util.Map;
 
 public class FitnessPanel extends BasePanel {
     private FitnessData fitnessData;
@@ -45,62 +46,14 @@ public class FitnessPanel extends BasePanel {
     private JLabel manualCaloriesLabel;
     private JLabel manualActivityLabel;
     
-    private static final Map<String, Double> WORKOUT_MET = new HashMap<>();
-    static {
-        WORKOUT_MET.put("Push-ups", 8.0);
-        WORKOUT_MET.put("Pull-ups", 8.0);
-        WORKOUT_MET.put("Squats", 5.0);
-        WORKOUT_MET.put("Jump Squats", 8.0);
-        WORKOUT_MET.put("Lunges", 4.5);
-        WORKOUT_MET.put("Sit-ups", 8.0);
-        WORKOUT_MET.put("Crunches", 3.8);
-        WORKOUT_MET.put("Mountain Climbers", 8.0);
-        WORKOUT_MET.put("Burpees", 10.0);
-        WORKOUT_MET.put("Jumping Jacks", 8.0);
-        WORKOUT_MET.put("Dips", 5.0);
-        WORKOUT_MET.put("Calf Raises", 3.5);
-        WORKOUT_MET.put("Deadlifts Light", 6.0);
-        WORKOUT_MET.put("Deadlifts Heavy", 8.0);
-        WORKOUT_MET.put("Bench Press", 6.0);
-        WORKOUT_MET.put("Shoulder Press", 5.0);
-        WORKOUT_MET.put("Bicep Curls", 3.5);
-        WORKOUT_MET.put("Tricep Extension", 3.5);
-        WORKOUT_MET.put("Dumbbell Rows", 6.0);
-        WORKOUT_MET.put("Kettlebell Swings", 9.8);
-        WORKOUT_MET.put("Kettlebell Snatch", 10.0);
-    }
-    
-    private static final Map<String, Double> SPORT_MET = new HashMap<>();
-    static {
-        SPORT_MET.put("Running Slow (6 km/h)", 6.0);
-        SPORT_MET.put("Running Moderate (8 km/h)", 8.3);
-        SPORT_MET.put("Running Fast (10 km/h)", 10.0);
-        SPORT_MET.put("Running Very Fast (12 km/h)", 11.0);
-        SPORT_MET.put("Cycling Light", 4.0);
-        SPORT_MET.put("Cycling Moderate", 8.0);
-        SPORT_MET.put("Cycling Fast", 10.0);
-        SPORT_MET.put("Swimming Casual", 6.0);
-        SPORT_MET.put("Swimming Fast", 10.0);
-        SPORT_MET.put("Football", 7.0);
-        SPORT_MET.put("Basketball", 6.5);
-        SPORT_MET.put("Tennis Singles", 8.0);
-        SPORT_MET.put("Tennis Doubles", 6.0);
-        SPORT_MET.put("Badminton", 7.0);
-        SPORT_MET.put("Cricket", 5.5);
-        SPORT_MET.put("Volleyball", 3.8);
-        SPORT_MET.put("Boxing", 12.0);
-        SPORT_MET.put("CrossFit", 12.0);
-        SPORT_MET.put("Hiking", 6.0);
-        SPORT_MET.put("Rowing Moderate", 7.0);
-        SPORT_MET.put("Rowing Fast", 12.0);
-        SPORT_MET.put("Rope Skipping", 12.3);
-        SPORT_MET.put("Elliptical", 5.0);
-    }
+    private static final MetCatalog MET_CATALOG = MetCatalog.getDefault();
     
+    private final CalorieEngine calorieEngine;
     private double caloriesBurned = 0.0;
     
     public FitnessPanel(User user) {
         super(user);
+        this.calorieEngine = new CalorieEngine(MET_CATALOG, user.getWeight());
         loadData();
         
         JLabel titleLabel = new JLabel("Fitness Tracking") {
@@ -370,14 +323,14 @@ public class FitnessPanel extends BasePanel {
         
         if ("Workout".equals(category)) {
             activityComboBox.addItem("Select Workout");
-            for (String workout : WORKOUT_MET.keySet()) {
+            for (String workout : MET_CATALOG.getNames(MetCatalog.WORKOUT)) {
                 activityComboBox.addItem(workout);
             }
             activityComboBox.setEnabled(true);
             hideAllActivityFields();
         } else if ("Sport".equals(category)) {
             activityComboBox.addItem("Select Sport");
-            for (String sport : SPORT_MET.keySet()) {
+            for (String sport : MET_CATALOG.getNames(MetCatalog.SPORT)) {
                 activityComboBox.addItem(sport);
             }
             activityComboBox.setEnabled(true);
@@ -546,7 +499,7 @@ public class FitnessPanel extends BasePanel {
                     return;
                 }
                 caloriesBurned = Validator.parsePositiveDouble(caloriesStr, "Calories");
-                activity = activityName;
+                fitnessData.addActivity(activityName, caloriesBurned);
             } else {
                 if (activity == null || activity.startsWith("Select")) {
                     JOptionPane.showMessageDialog(this, "Please select an activity.", 
@@ -554,31 +507,21 @@ public class FitnessPanel extends BasePanel {
                     return;
                 }
                 
-                double weightKg = user.getWeight();
-                
                 if ("Workout".equals(category)) {
-                    caloriesBurned = calculateWorkoutCalories(activity, weightKg);
-                    String repsStr = repsField.getText().trim();
-                    activity = activity + " (" + repsStr + " reps)";
+                    caloriesBurned = addWorkout(activity);
                 } else if ("Sport".equals(category)) {
                     if (activity.startsWith("Running")) {
-                        caloriesBurned = calculateRunningCalories(activity, weightKg);
-                        String timeStr = timeField.getText().trim();
-                        String distanceStr = distanceField.getText().trim();
-                        String speedStr = speedField.getText().trim();
-                        activity = activity + " (" + timeStr + " min, " + distanceStr + " km, " + speedStr + " km/h)";
+                        caloriesBurned = addRun(activity);
                     } else {
-                        caloriesBurned = calculateSportCalories(activity, weightKg);
-                        String timeStr = timeField.getText().trim();
-                        activity = activity + " (" + timeStr + " min)";
+                        caloriesBurned = addSport(activity);
                     }
+                } else {
+                    return;
                 }
             }
             
             caloriesResultLabel.setText(String.format("Calories Burned: %.2f kcal", caloriesBurned));
             
-            fitnessData.addActivity(activity, caloriesBurned);
-            
             fileHandler.saveFitnessData(user.getUsername(), fitnessData);
             updateDisplay();
             
@@ -617,9 +560,10 @@ public class FitnessPanel extends BasePanel {
         }
     }
     
-    private double calculateWorkoutCalories(String workout, double weightKg) throws InvalidInputException, NegativeValueException, DecimalValueException {
-        Double met = WORKOUT_MET.get(workout);
-        if (met == null) {
+    // Logs the reps of a workout and returns the calories burned
+    private double addWorkout(String workout) throws InvalidInputException, NegativeValueException, DecimalValueException {
+        int activity = activityIndex(workout, MetCatalog.WORKOUT);
+        if (activity < 0) {
             throw new InvalidInputException("Invalid workout selected.");
         }
         
@@ -631,13 +575,15 @@ public class FitnessPanel extends BasePanel {
         int reps = Validator.parsePositiveInteger(repsStr, "Reps");
         
         // Formula: calories = 0.0175 * MET * weightKg * 0.033 * reps
-        double calories = 0.0175 * met * weightKg * 0.033 * reps;
+        double calories = calorieEngine.repsCalories(activity, reps);
+        fitnessData.addWorkout(MET_CATALOG.getId(activity), reps, calories);
+        fitnessData.setEntryAmountText(fitnessData.getEntryCount() - 1, repsStr + " reps");
         return calories;
     }
     
-    private double calculateSportCalories(String sport, double weightKg) throws InvalidInputException, NegativeValueException {
-        Double met = SPORT_MET.get(sport);
-        if (met == null) {
+    private double addSport(String sport) throws InvalidInputException, NegativeValueException {
+        int activity = activityIndex(sport, MetCatalog.SPORT);
+        if (activity < 0) {
             throw new InvalidInputException("Invalid sport selected.");
         }
         
@@ -649,13 +595,15 @@ public class FitnessPanel extends BasePanel {
         double time = Validator.parsePositiveDouble(timeStr, "Time");
         
         // Formula: calories = 0.0175 * MET * weightKg * time
-        double calories = 0.0175 * met * weightKg * time;
+        double calories = calorieEngine.durationCalories(activity, time);
+        fitnessData.addSport(MET_CATALOG.getId(activity), time, calories);
+        fitnessData.setEntryAmountText(fitnessData.getEntryCount() - 1, timeStr + " min");
         return calories;
     }
     
-    private double calculateRunningCalories(String runningType, double weightKg) throws InvalidInputException, NegativeValueException {
-        Double met = SPORT_MET.get(runningType);
-        if (met == null) {
+    private double addRun(String runningType) throws InvalidInputException, NegativeValueException {
+        int activity = activityIndex(runningType, MetCatalog.SPORT);
+        if (activity < 0) {
             throw new InvalidInputException("Invalid running type selected.");
         }
         
@@ -679,11 +627,17 @@ public class FitnessPanel extends BasePanel {
         // caloriesPerMin = 0.0175 * MET * weightKg
         // caloriesPerKm = (0.0175 * MET * weightKg * 60) / speed
         // totalCalories = caloriesPerMin * time + caloriesPerKm * distance
-        double caloriesPerMin = 0.0175 * met * weightKg;
-        double caloriesPerKm = (0.0175 * met * weightKg * 60) / speed;
-        double totalCalories = caloriesPerMin * time + caloriesPerKm * distance;
-        
-        return totalCalories;
+        double calories = calorieEngine.runningCalories(activity, time, distance, speed);
+        fitnessData.addRun(MET_CATALOG.getId(activity), time, distance, speed, calories);
+        fitnessData.setEntryAmountText(fitnessData.getEntryCount() - 1,
+                timeStr + " min, " + distanceStr + " km, " + speedStr + " km/h");
+        return calories;
+    }
+    
+    // Catalog position of an activity of the given category, or -1
+    private static int activityIndex(String activity, String category) {
+        int index = MET_CATALOG.indexOfName(activity);
+        return index >= 0 && category.equals(MET_CATALOG.getCategory(index)) ? index : -1;
     }
     
     private void handleUpdateTargets() {
@@ -729,10 +683,10 @@ public class FitnessPanel extends BasePanel {
     }
     
     private void animateSuccessFeedback() {
-        Timer flashTimer = new Timer(50, new ActionListener() {
+        AnimationClock.Animation flashAnimation = new AnimationClock.Animation(50) {
             private int count = 0;
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 if (count < 3) {
                     Color originalColor = currentStepsLabel.getForeground();
                     currentStepsLabel.setForeground(count % 2 == 0 ? new Color(76, 175, 80) : originalColor);
@@ -741,11 +695,12 @@ public class FitnessPanel extends BasePanel {
                 } else {
                     currentStepsLabel.setForeground(Color.BLACK);
                     currentCaloriesLabel.setForeground(Color.BLACK);
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        flashTimer.start();
+        };
+        AnimationClock.getInstance().start(flashAnimation);
     }
     
     @Override
@@ -757,8 +712,8 @@ public class FitnessPanel extends BasePanel {
     
     private void updateActivitiesList() {
         activitiesListModel.clear();
-        for (String activity : fitnessData.getActivities()) {
-            activitiesListModel.addElement(activity);
+        for (int i = 0; i < fitnessData.getEntryCount(); i++) {
+            activitiesListModel.addElement(fitnessData.formatEntry(i));
         }
     }
     
@@ -787,10 +742,10 @@ public class FitnessPanel extends BasePanel {
             return;
         }
         
-        Timer animTimer = new Timer(10, new ActionListener() {
+        AnimationClock.Animation countAnimation = new AnimationClock.Animation(10) {
             private int animatedValue = startValue;
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 int diff = targetValue - animatedValue;
                 if (Math.abs(diff) > 0) {
                     animatedValue += diff > 0 ? Math.max(1, diff / 10) : Math.min(-1, diff / 10);
@@ -808,23 +763,24 @@ public class FitnessPanel extends BasePanel {
                 } else {
                     label.setText(prefix + targetValue);
                     }
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        animTimer.start();
+        };
+        AnimationClock.getInstance().start(countAnimation);
     }
     
     @Override
     protected void loadData() {
-        fitnessData = fileHandler.loadFitnessData().get(user.getUsername());
+        fitnessData = fileHandler.loadFitnessData(user.getUsername());
         if (fitnessData == null) {
             fitnessData = new FitnessData();
         }
     }
     
     public void refreshData() {
-        FitnessData updatedData = fileHandler.loadFitnessData().get(user.getUsername());
+        FitnessData updatedData = fileHandler.loadFitnessData(user.getUsername());
         if (updatedData != null) {
             fitnessData = updatedData;
             if (targetStepsField != null) {
@@ -6,6 +6,7 @@ import wellnessapp.models.HabitTracker;
 import wellnessapp.utils.FileHandler;
 import wellnessapp.utils.AnimatedButton;
 import wellnessapp.utils.Validator;
+import wellnessapp.utils.AnimationClock;
 import wellnessapp.exceptions.InvalidInputException;
 import wellnessapp.exceptions.SpecialCharacterException;
 
@@ -13,6 +14,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.LocalDate;
 public class HabitPanel extends BasePanel {
     private HabitTracker habitTracker;
     
@@ -75,7 +77,7 @@ public class HabitPanel extends BasePanel {
         gbc.gridwidth = 2;
         inputPanel.add(buttonPanel, gbc);
         
-        completedLabel = new JLabel("Completed: 0 / " + habitTracker.getHabits().size(), JLabel.CENTER);
+        completedLabel = new JLabel("Completed: 0 / " + habitTracker.getHabitCount(), JLabel.CENTER);
         completedLabel.setFont(new Font("Arial", Font.PLAIN, 14));
         gbc.gridy = 2;
         inputPanel.add(completedLabel, gbc);
@@ -124,7 +126,11 @@ public class HabitPanel extends BasePanel {
             
             habitName = Validator.validateAlphabetsAndNumbers(habitName, "Habit Name");
             
-            habitTracker.addHabit(habitName);
+            if (!habitTracker.addHabit(habitName)) {
+                JOptionPane.showMessageDialog(this, "A habit with this name already exists", 
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             fileHandler.saveHabitTracker(user.getUsername(), habitTracker);
             
             updateDisplay();
@@ -171,28 +177,29 @@ public class HabitPanel extends BasePanel {
     }
     
     private void animateHabitAdded() {
-        Timer flashTimer = new Timer(50, new ActionListener() {
+        AnimationClock.Animation flashAnimation = new AnimationClock.Animation(50) {
             private int count = 0;
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 if (count < 3) {
                     Color originalColor = completedLabel.getForeground();
                     completedLabel.setForeground(count % 2 == 0 ? new Color(76, 175, 80) : originalColor);
                     count++;
                 } else {
                     completedLabel.setForeground(Color.BLACK);
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        flashTimer.start();
+        };
+        AnimationClock.getInstance().start(flashAnimation);
     }
     
     @Override
     protected void updateDisplay() {
         updateListModel();
         animateNumberChange(completedLabel, "Completed: ", habitTracker.getCompletedCount(), 
-            " / " + habitTracker.getHabits().size());
+            " / " + habitTracker.getHabitCount());
     }
     
     private void animateNumberChange(JLabel label, String prefix, int targetValue, String suffix) {
@@ -212,10 +219,10 @@ public class HabitPanel extends BasePanel {
             return;
         }
         
-        Timer animTimer = new Timer(10, new ActionListener() {
+        AnimationClock.Animation countAnimation = new AnimationClock.Animation(10) {
             private int animatedValue = startValue;
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 int diff = targetValue - animatedValue;
                 if (Math.abs(diff) > 0) {
                     animatedValue += diff > 0 ? Math.max(1, diff / 10) : Math.min(-1, diff / 10);
@@ -225,23 +232,31 @@ public class HabitPanel extends BasePanel {
                     label.setText(prefix + animatedValue + suffix);
                 } else {
                     label.setText(prefix + targetValue + suffix);
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        animTimer.start();
+        };
+        AnimationClock.getInstance().start(countAnimation);
     }
     
     private void updateListModel() {
         listModel.clear();
+        long today = LocalDate.now().toEpochDay();
         for (Habit habit : habitTracker.getHabits()) {
-            listModel.addElement(habit.toString());
+            int streak = habit.getCurrentStreak(today);
+            int best = Math.max(streak, habit.getHistory().getLongestStreak(today - 365, today));
+            if (best > 1) {
+                listModel.addElement(habit + "  (streak: " + streak + " days, best: " + best + ")");
+            } else {
+                listModel.addElement(habit.toString());
+            }
         }
     }
     
     @Override
     protected void loadData() {
-        habitTracker = fileHandler.loadHabitTrackers().get(user.getUsername());
+        habitTracker = fileHandler.loadHabitTracker(user.getUsername());
         if (habitTracker == null) {
             habitTracker = new HabitTracker();
         }
@@ -14,7 +14,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Map;
 
 public class LoginFrame extends JFrame {
     private JTextField usernameField;
@@ -22,11 +21,9 @@ public class LoginFrame extends JFrame {
     private JButton loginButton;
     private JButton createUserButton;
     private FileHandler fileHandler;
-    private Map<String, User> users;
     
     public LoginFrame() {
         fileHandler = FileHandler.getInstance();
-        users = fileHandler.loadUsers();
         
         setTitle("Wellness App - Login");
         setSize(400, 300);
@@ -90,7 +87,7 @@ public class LoginFrame extends JFrame {
             return;
         }
         
-        User user = users.get(username);
+        User user = fileHandler.loadUser(username);
         if (user != null && user.getPassword().equals(password)) {
             JOptionPane.showMessageDialog(this, "Login successful!", 
                 "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -108,7 +105,7 @@ public class LoginFrame extends JFrame {
         
         if (dialog.isUserCreated()) {
             User newUser = dialog.getCreatedUser();
-            users.put(newUser.getUsername(), newUser);
+            fileHandler.saveUser(newUser);
             JOptionPane.showMessageDialog(this, "User created successfully!", 
                 "Success", JOptionPane.INFORMATION_MESSAGE);
         }
@@ -218,7 +215,7 @@ public class LoginFrame extends JFrame {
                         // Validate username (alphabets, numbers, underscore only)
                         username = Validator.validateUsername(username, "Username");
                         
-                        if (users.containsKey(username)) {
+                        if (fileHandler.loadUser(username) != null) {
                             JOptionPane.showMessageDialog(CreateUserDialog.this, 
                                 "Username already exists", "Error", JOptionPane.ERROR_MESSAGE);
                             return;
@@ -1,11 +1,15 @@
 package wellnessapp.gui;
 
 import wellnessapp.models.User;
+import wellnessapp.utils.FileHandler;
+import wellnessapp.utils.BackgroundCache;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 public class MainFrame extends JFrame {
     private Dashboard dashboard;
@@ -23,6 +27,14 @@ public class MainFrame extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
         
+        // Make sure queued saves reach the disk before the JVM exits
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                FileHandler.getInstance().flush();
+            }
+        });
+        
         dashboard = new Dashboard(user);
         fitnessPanel = new FitnessPanel(user);
         mealPanel = new MealPanel(user);
@@ -32,23 +44,25 @@ public class MainFrame extends JFrame {
         profilePanel = new ProfilePanel(user);
         
         JPanel navPanel = new JPanel(new FlowLayout()) {
+            private final BackgroundCache background = new BackgroundCache(1, new BackgroundCache.Painter() {
+                @Override
+                public void paint(Graphics2D g2d, int width, int height, int state) {
+                    GradientPaint gradient = new GradientPaint(
+                        0, 0, new Color(248, 248, 248),
+                        0, height, new Color(240, 240, 240)
+                    );
+                    g2d.setPaint(gradient);
+                    g2d.fillRect(0, 0, width, height);
+                    
+                    g2d.setColor(new Color(200, 200, 200));
+                    g2d.setStroke(new BasicStroke(1.0f));
+                    g2d.drawLine(0, height - 1, width, height - 1);
+                }
+            });
+            
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g.create();
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                GradientPaint gradient = new GradientPaint(
-                    0, 0, new Color(248, 248, 248),
-                    0, getHeight(), new Color(240, 240, 240)
-                );
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-                
-                g2d.setColor(new Color(200, 200, 200));
-                g2d.setStroke(new BasicStroke(1.0f));
-                g2d.drawLine(0, getHeight() - 1, getWidth(), getHeight() - 1);
-                
-                g2d.dispose();
+                background.paint(g, this, 0);
             }
         };
         navPanel.setOpaque(false);
@@ -4,9 +4,12 @@ import wellnessapp.models.User;
 import wellnessapp.models.MealData;
 import wellnessapp.models.MealItem;
 import wellnessapp.models.MealsData;
+import wellnessapp.models.MealSearchIndex;
+import wellnessapp.models.Nutrients;
 import wellnessapp.utils.FileHandler;
 import wellnessapp.utils.Validator;
 import wellnessapp.utils.AnimatedButton;
+import wellnessapp.utils.AnimationClock;
 import wellnessapp.exceptions.InvalidInputException;
 import wellnessapp.exceptions.NegativeValueException;
 import wellnessapp.exceptions.DecimalValueException;
@@ -15,18 +18,29 @@ import wellnessapp.exceptions.SpecialCharacterException;
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 public class MealPanel extends BasePanel {
+    private static final int MAX_SEARCH_RESULTS = 20;
+    
     private MealData mealData;
     
     private JTextField waterField;
     private JLabel currentWaterLabel;
     private JLabel currentCaloriesLabel;
     
+    private JTextField searchField;
+    private List<MealSearchIndex.Result> searchResults;
+    private boolean searchPending;
+    private final Segment fieldText = new Segment();
     private JComboBox<String> categoryComboBox;
     private JComboBox<String> itemComboBox;
     private JTextField miscItemNameField;
@@ -46,6 +60,7 @@ public class MealPanel extends BasePanel {
     public MealPanel(User user) {
         super(user);
         loadData();
+        MealsData.buildSearchIndex(null);
         
         JLabel titleLabel = new JLabel("Meal Tracking") {
             @Override
@@ -126,9 +141,37 @@ public class MealPanel extends BasePanel {
         gbc.gridwidth = 1;
         gbc.gridy = 8;
         gbc.gridx = 0;
+        inputPanel.add(new JLabel("Search:"), gbc);
+        gbc.gridx = 1;
+        searchField = new JTextField(10);
+        searchField.setToolTipText("Type to search all categories");
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                handleSearchChange();
+            }
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                handleSearchChange();
+            }
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                handleSearchChange();
+            }
+        });
+        inputPanel.add(searchField, gbc);
+        
+        
+        gbc.gridy = 9;
+        gbc.gridx = 0;
         inputPanel.add(new JLabel("Category:"), gbc);
         gbc.gridx = 1;
-        categoryComboBox = new JComboBox<>(new String[]{"Select Category", "Breakfast", "Lunch", "Dinner", "Snacks", "Misc"});
+        categoryComboBox = new JComboBox<>();
+        categoryComboBox.addItem("Select Category");
+        for (String category : MealsData.getCategories()) {
+            categoryComboBox.addItem(category);
+        }
+        categoryComboBox.addItem("Misc");
         categoryComboBox.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -138,7 +181,7 @@ public class MealPanel extends BasePanel {
         inputPanel.add(categoryComboBox, gbc);
         
         
-        gbc.gridy = 9;
+        gbc.gridy = 10;
         gbc.gridx = 0;
         inputPanel.add(new JLabel("Item:"), gbc);
         gbc.gridx = 1;
@@ -153,7 +196,7 @@ public class MealPanel extends BasePanel {
         inputPanel.add(itemComboBox, gbc);
         
         
-        gbc.gridy = 10;
+        gbc.gridy = 11;
         gbc.gridx = 0;
         miscItemNameLabel = new JLabel("Item Name:");
         miscItemNameLabel.setVisible(false);
@@ -178,7 +221,7 @@ public class MealPanel extends BasePanel {
         inputPanel.add(miscItemNameField, gbc);
         
         
-        gbc.gridy = 11;
+        gbc.gridy = 12;
         gbc.gridx = 0;
         miscCaloriesLabel = new JLabel("Calories:");
         miscCaloriesLabel.setVisible(false);
@@ -203,7 +246,7 @@ public class MealPanel extends BasePanel {
         inputPanel.add(miscCaloriesField, gbc);
         
         
-        gbc.gridy = 12;
+        gbc.gridy = 13;
         gbc.gridwidth = 2;
         gbc.gridx = 0;
         servingSizeLabel = new JLabel("Serving Size: -");
@@ -211,7 +254,7 @@ public class MealPanel extends BasePanel {
         inputPanel.add(servingSizeLabel, gbc);
         
         
-        gbc.gridy = 13;
+        gbc.gridy = 14;
         caloriesLabel = new JLabel("Calories: - kcal");
         caloriesLabel.setFont(new Font("Arial", Font.BOLD, 14));
         caloriesLabel.setForeground(new Color(76, 175, 80));
@@ -219,18 +262,18 @@ public class MealPanel extends BasePanel {
         inputPanel.add(caloriesLabel, gbc);
         
         
-        gbc.gridy = 14;
+        gbc.gridy = 15;
         addToTotalButton = new AnimatedButton("Add to Total");
         addToTotalButton.setEnabled(false);
         inputPanel.add(addToTotalButton, gbc);
         
         
-        gbc.gridy = 15;
+        gbc.gridy = 16;
         inputPanel.add(new JSeparator(), gbc);
         
         
         gbc.gridwidth = 1;
-        gbc.gridy = 16;
+        gbc.gridy = 17;
         gbc.gridx = 0;
         inputPanel.add(new JLabel("Target Water (ml):"), gbc);
         gbc.gridx = 1;
@@ -239,7 +282,7 @@ public class MealPanel extends BasePanel {
         inputPanel.add(targetWaterField, gbc);
         
         gbc.gridx = 0;
-        gbc.gridy = 17;
+        gbc.gridy = 18;
         inputPanel.add(new JLabel("Target Calories:"), gbc);
         gbc.gridx = 1;
         targetCaloriesField = new JTextField(10);
@@ -247,7 +290,7 @@ public class MealPanel extends BasePanel {
         inputPanel.add(targetCaloriesField, gbc);
         
         gbc.gridx = 0;
-        gbc.gridy = 18;
+        gbc.gridy = 19;
         gbc.gridwidth = 2;
         AnimatedButton updateTargetsButton = new AnimatedButton("Update Targets");
         inputPanel.add(updateTargetsButton, gbc);
@@ -302,8 +345,80 @@ public class MealPanel extends BasePanel {
         });
     }
     
+    private void handleSearchChange() {
+        String query = searchField.getText().trim();
+        if (query.isEmpty()) {
+            if (searchResults != null) {
+                searchResults = null;
+                handleCategoryChange();
+            }
+            return;
+        }
+        
+        // Search covers every category, so leave category browsing
+        if (categoryComboBox.getSelectedIndex() != 0) {
+            categoryComboBox.setSelectedIndex(0);
+        }
+        MealSearchIndex index = MealsData.getBuiltSearchIndex();
+        if (index == null) {
+            // Searched again with the current text once the index is built
+            searchResults = Collections.emptyList();
+            itemComboBox.removeAllItems();
+            itemComboBox.addItem("Loading search...");
+            itemComboBox.setEnabled(false);
+            hideMiscFields();
+            hideMealInfo();
+            if (!searchPending) {
+                searchPending = true;
+                MealsData.buildSearchIndex(new Runnable() {
+                    @Override
+                    public void run() {
+                        SwingUtilities.invokeLater(new Runnable() {
+                            @Override
+                            public void run() {
+                                searchPending = false;
+                                handleSearchChange();
+                            }
+                        });
+                    }
+                });
+            }
+            return;
+        }
+        searchResults = index.search(query, MAX_SEARCH_RESULTS);
+        itemComboBox.removeAllItems();
+        if (searchResults.isEmpty()) {
+            itemComboBox.addItem("No matching items");
+            itemComboBox.setEnabled(false);
+        } else {
+            itemComboBox.addItem("Select Item");
+            for (MealSearchIndex.Result result : searchResults) {
+                itemComboBox.addItem(result.toString());
+            }
+            itemComboBox.setEnabled(true);
+        }
+        hideMiscFields();
+        hideMealInfo();
+    }
+    
+    private MealItem getSelectedCatalogItem() {
+        if (searchResults != null) {
+            int index = itemComboBox.getSelectedIndex() - 1;
+            return index >= 0 && index < searchResults.size() ? searchResults.get(index).getItem() : null;
+        }
+        String category = (String) categoryComboBox.getSelectedItem();
+        String itemName = (String) itemComboBox.getSelectedItem();
+        Map<String, MealItem> items = MealsData.getMealItems(category);
+        return items == null || itemName == null ? null : items.get(itemName);
+    }
+    
     private void handleCategoryChange() {
         String category = (String) categoryComboBox.getSelectedItem();
+        if (searchResults != null && category != null && !category.equals("Select Category")) {
+            // Picking a category ends the search
+            searchResults = null;
+            searchField.setText("");
+        }
         itemComboBox.removeAllItems();
         
         if ("Misc".equals(category)) {
@@ -311,12 +426,16 @@ public class MealPanel extends BasePanel {
             itemComboBox.setEnabled(false);
             showMiscFields();
         } else if (category != null && !category.equals("Select Category")) {
-            HashMap<String, MealItem> items = MealsData.getMealItems(category);
+            Map<String, MealItem> items = MealsData.getMealItems(category);
             if (items != null) {
-                itemComboBox.addItem("Select Item");
+                // Filled in one step; a category of a large catalog can hold many items
+                String[] itemNames = new String[items.size() + 1];
+                itemNames[0] = "Select Item";
+                int index = 1;
                 for (String itemName : items.keySet()) {
-                    itemComboBox.addItem(itemName);
+                    itemNames[index++] = itemName;
                 }
+                itemComboBox.setModel(new DefaultComboBoxModel<String>(itemNames));
                 itemComboBox.setEnabled(true);
             }
             hideMiscFields();
@@ -344,24 +463,33 @@ public class MealPanel extends BasePanel {
             checkMiscFields();
         } else {
             hideMiscFields();
-            HashMap<String, MealItem> items = MealsData.getMealItems(category);
-            if (items != null) {
-                MealItem item = items.get(itemName);
-                if (item != null) {
-                    servingSizeLabel.setText("Serving Size: " + item.getServingSize());
-                    caloriesLabel.setText("Calories: " + item.getCalories() + " kcal");
-                    servingSizeLabel.setVisible(true);
-                    caloriesLabel.setVisible(true);
-                    addToTotalButton.setEnabled(true);
-                }
+            MealItem item = getSelectedCatalogItem();
+            if (item != null) {
+                servingSizeLabel.setText("Serving Size: " + item.getServingSize());
+                caloriesLabel.setText("Calories: " + item.getCalories() + " kcal");
+                double[] nutrients = item.getNutrients();
+                caloriesLabel.setToolTipText(Nutrients.isEmpty(nutrients) ? null
+                        : Nutrients.appendSummary(new StringBuilder(), nutrients).toString());
+                servingSizeLabel.setVisible(true);
+                caloriesLabel.setVisible(true);
+                addToTotalButton.setEnabled(true);
             }
         }
     }
     
+    // Runs on every keystroke, so the fields are read into a reused Segment instead of new Strings
     private void checkMiscFields() {
-        String itemName = miscItemNameField.getText().trim();
-        String caloriesStr = miscCaloriesField.getText().trim();
-        addToTotalButton.setEnabled(!itemName.isEmpty() && !caloriesStr.isEmpty());
+        addToTotalButton.setEnabled(hasText(miscItemNameField) && hasText(miscCaloriesField));
+    }
+    
+    private boolean hasText(JTextField field) {
+        Document document = field.getDocument();
+        try {
+            document.getText(0, document.getLength(), fieldText);
+        } catch (BadLocationException e) {
+            return false;
+        }
+        return !Validator.isBlank(fieldText);
     }
     
     private void showMiscFields() {
@@ -417,8 +545,9 @@ public class MealPanel extends BasePanel {
             String itemName = (String) itemComboBox.getSelectedItem();
             int calories = 0;
             String mealEntry = "";
+            MealItem catalogItem = null;
             
-            if (category == null || category.equals("Select Category")) {
+            if (searchResults == null && (category == null || category.equals("Select Category"))) {
                 JOptionPane.showMessageDialog(this, "Please select a category.", 
                     "Error", JOptionPane.ERROR_MESSAGE);
                 return;
@@ -443,7 +572,7 @@ public class MealPanel extends BasePanel {
                 }
                 
                 calories = Validator.parsePositiveInteger(caloriesStr, "Calories");
-                mealEntry = miscName; // Just the name, calories will be added by addEntry()
+                mealEntry = miscName; // Just the name, calories will be added by addMeal()
             } else {
                 if (itemName == null || itemName.equals("Select Item")) {
                     JOptionPane.showMessageDialog(this, "Please select an item.", 
@@ -451,19 +580,18 @@ public class MealPanel extends BasePanel {
                     return;
                 }
                 
-                HashMap<String, MealItem> items = MealsData.getMealItems(category);
-                if (items != null) {
-                    MealItem item = items.get(itemName);
-                        if (item != null) {
-                            calories = item.getCalories();
-                        
-                        mealEntry = item.getName() + " (" + item.getServingSize() + ")";
-                        }
-                    }
+                catalogItem = getSelectedCatalogItem();
+                if (catalogItem != null) {
+                    calories = catalogItem.getCalories();
                 }
+            }
             
             if (calories > 0) {
-                mealData.addMeal(mealEntry, calories);
+                if (catalogItem != null) {
+                    mealData.addMeal(catalogItem);
+                } else {
+                    mealData.addMeal(mealEntry, calories);
+                }
                 fileHandler.saveMealData(user.getUsername(), mealData);
                 updateDisplay();
                 
@@ -472,6 +600,9 @@ public class MealPanel extends BasePanel {
                     miscItemNameField.setText("");
                     miscCaloriesField.setText("");
                 }
+                if (searchResults != null) {
+                    searchField.setText("");
+                }
                 hideMealInfo();
                 
                 SwingUtilities.invokeLater(new Runnable() {
@@ -537,27 +668,31 @@ public class MealPanel extends BasePanel {
     }
     
     private void animateSuccessFeedback() {
-        Timer flashTimer = new Timer(50, new ActionListener() {
+        AnimationClock.Animation flashAnimation = new AnimationClock.Animation(50) {
             private int count = 0;
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 if (count < 3) {
                     Color originalColor = currentCaloriesLabel.getForeground();
                     currentCaloriesLabel.setForeground(count % 2 == 0 ? new Color(76, 175, 80) : originalColor);
                     count++;
                 } else {
                     currentCaloriesLabel.setForeground(Color.BLACK);
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        flashTimer.start();
+        };
+        AnimationClock.getInstance().start(flashAnimation);
     }
     
     @Override
     protected void updateDisplay() {
         animateNumberChange(currentWaterLabel, "Water: ", mealData.getWaterIntake(), " ml");
         animateNumberChange(currentCaloriesLabel, "Calories: ", mealData.getCaloriesEaten(), " kcal");
+        double[] nutrients = mealData.getNutrientTotals();
+        currentCaloriesLabel.setToolTipText(Nutrients.isEmpty(nutrients) ? null
+                : Nutrients.appendSummary(new StringBuilder("Today: "), nutrients).toString());
         updateMealsList();
     }
     
@@ -581,10 +716,10 @@ public class MealPanel extends BasePanel {
             return;
         }
         
-        Timer animTimer = new Timer(10, new ActionListener() {
+        AnimationClock.Animation countAnimation = new AnimationClock.Animation(10) {
             private int animatedValue = startValue;
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 int diff = targetValue - animatedValue;
                 if (Math.abs(diff) > 0) {
                     animatedValue += diff > 0 ? Math.max(1, diff / 10) : Math.min(-1, diff / 10);
@@ -594,30 +729,31 @@ public class MealPanel extends BasePanel {
                     label.setText(prefix + animatedValue + suffix);
                 } else {
                     label.setText(prefix + targetValue + suffix);
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        animTimer.start();
+        };
+        AnimationClock.getInstance().start(countAnimation);
     }
     
     private void updateMealsList() {
         mealsListModel.clear();
-        for (String meal : mealData.getMeals()) {
-            mealsListModel.addElement(meal);
+        for (int i = 0; i < mealData.getEntryCount(); i++) {
+            mealsListModel.addElement(mealData.formatEntry(i));
         }
     }
     
     @Override
     protected void loadData() {
-        mealData = fileHandler.loadMealData().get(user.getUsername());
+        mealData = fileHandler.loadMealData(user.getUsername());
         if (mealData == null) {
             mealData = new MealData();
         }
     }
     
     public void refreshData() {
-        MealData updatedData = fileHandler.loadMealData().get(user.getUsername());
+        MealData updatedData = fileHandler.loadMealData(user.getUsername());
         if (updatedData != null) {
             mealData = updatedData;
             if (targetCaloriesField != null) {
@@ -5,6 +5,7 @@ import wellnessapp.models.MindfulnessData;
 import wellnessapp.utils.FileHandler;
 import wellnessapp.utils.Validator;
 import wellnessapp.utils.AnimatedButton;
+import wellnessapp.utils.AnimationClock;
 import wellnessapp.exceptions.InvalidInputException;
 import wellnessapp.exceptions.NegativeValueException;
 import wellnessapp.exceptions.DecimalValueException;
@@ -204,21 +205,22 @@ public class MindfulnessPanel extends BasePanel {
     }
     
     private void animateSuccessFeedback() {
-        Timer flashTimer = new Timer(50, new ActionListener() {
+        AnimationClock.Animation flashAnimation = new AnimationClock.Animation(50) {
             private int count = 0;
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 if (count < 3) {
                     Color originalColor = currentMeditationLabel.getForeground();
                     currentMeditationLabel.setForeground(count % 2 == 0 ? new Color(156, 39, 176) : originalColor);
                     count++;
                 } else {
                     currentMeditationLabel.setForeground(Color.BLACK);
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        flashTimer.start();
+        };
+        AnimationClock.getInstance().start(flashAnimation);
     }
     
     @Override
@@ -248,10 +250,10 @@ public class MindfulnessPanel extends BasePanel {
             return;
         }
         
-        Timer animTimer = new Timer(10, new ActionListener() {
+        AnimationClock.Animation countAnimation = new AnimationClock.Animation(10) {
             private int animatedValue = startValue;
             @Override
-            public void actionPerformed(ActionEvent e) {
+            protected boolean step() {
                 int diff = targetValue - animatedValue;
                 if (Math.abs(diff) > 0) {
                     animatedValue += diff > 0 ? Math.max(1, diff / 10) : Math.min(-1, diff / 10);
@@ -261,23 +263,24 @@ public class MindfulnessPanel extends BasePanel {
                     label.setText(prefix + animatedValue + suffix);
                 } else {
                     label.setText(prefix + targetValue + suffix);
-                    ((Timer) e.getSource()).stop();
+                    return false;
                 }
+                return true;
             }
-        });
-        animTimer.start();
+        };
+        AnimationClock.getInstance().start(countAnimation);
     }
     
     @Override
     protected void loadData() {
-        mindfulnessData = fileHandler.loadMindfulnessData().get(user.getUsername());
+        mindfulnessData = fileHandler.loadMindfulnessData(user.getUsername());
         if (mindfulnessData == null) {
             mindfulnessData = new MindfulnessData();
         }
     }
     
     public void refreshData() {
-        MindfulnessData updatedData = fileHandler.loadMindfulnessData().get(user.getUsername());
+        MindfulnessData updatedData = fileHandler.loadMindfulnessData(user.getUsername());
         if (updatedData != null) {
             mindfulnessData = updatedData;
             if (targetMeditationTimeField != null) {
@@ -268,17 +268,17 @@ public class ProfilePanel extends BasePanel {
     
     @Override
     protected void loadData() {
-        fitnessData = fileHandler.loadFitnessData().get(user.getUsername());
+        fitnessData = fileHandler.loadFitnessData(user.getUsername());
         if (fitnessData == null) {
             fitnessData = new FitnessData();
         }
         
-        mealData = fileHandler.loadMealData().get(user.getUsername());
+        mealData = fileHandler.loadMealData(user.getUsername());
         if (mealData == null) {
             mealData = new MealData();
         }
         
-        mindfulnessData = fileHandler.loadMindfulnessData().get(user.getUsername());
+        mindfulnessData = fileHandler.loadMindfulnessData(user.getUsername());
         if (mindfulnessData == null) {
             mindfulnessData = new MindfulnessData();
         }
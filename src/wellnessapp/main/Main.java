@@ -1,10 +1,13 @@
 package wellnessapp.main;
 
 import wellnessapp.gui.LoginFrame;
+import wellnessapp.utils.Validator;
 
 import javax.swing.SwingUtilities;
 public class Main {
     public static void main(String[] args) {
+        // The panels only show the message of a rejected input
+        Validator.setStackTraces(false);
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
@@ -0,0 +1,120 @@
+package wellnessapp.models;
+
+/**
+ * Calories burned by the activities of a MetCatalog for one body weight. The weight
+ * dependent factors of every activity are computed once per weight and reused, so
+ * scoring an activity is one or two multiplications. Results are identical to
+ * evaluating 0.0175 * MET * weightKg * ... in full, because the cached factors are the
+ * leading products of those same expressions.
+ */
+public class CalorieEngine {
+    private static final double KCAL_PER_MET_KG_MINUTE = 0.0175;
+    private static final double MINUTES_PER_REP = 0.033;
+    private static final double MINUTES_PER_HOUR = 60;
+    
+    private final MetCatalog catalog;
+    private volatile Coefficients coefficients;
+    
+    // Factors for one weight, replaced as a whole when the weight changes
+    private static class Coefficients {
+        final double weightKg;
+        // 0.0175 * MET * weightKg: calories per minute
+        final double[] perMinute;
+        // perMinute * 0.033: calories per repetition
+        final double[] perRep;
+        // perMinute * 60: calories per km when running at 1 km/h
+        final double[] perHour;
+        
+        Coefficients(MetCatalog catalog, double weightKg) {
+            this.weightKg = weightKg;
+            int size = catalog.size();
+            this.perMinute = new double[size];
+            this.perRep = new double[size];
+            this.perHour = new double[size];
+            for (int i = 0; i < size; i++) {
+                perMinute[i] = KCAL_PER_MET_KG_MINUTE * catalog.getMet(i) * weightKg;
+                perRep[i] = perMinute[i] * MINUTES_PER_REP;
+                perHour[i] = perMinute[i] * MINUTES_PER_HOUR;
+            }
+        }
+    }
+    
+    public CalorieEngine(MetCatalog catalog, double weightKg) {
+        this.catalog = catalog;
+        this.coefficients = new Coefficients(catalog, weightKg);
+    }
+    
+    public MetCatalog getCatalog() {
+        return catalog;
+    }
+    
+    public double getWeight() {
+        return coefficients.weightKg;
+    }
+    
+    /**
+     * Switches to another body weight, e.g. after the profile was edited. The factors
+     * are only recomputed if the weight actually changed.
+     */
+    public void setWeight(double weightKg) {
+        if (Double.doubleToLongBits(weightKg) != Double.doubleToLongBits(coefficients.weightKg)) {
+            coefficients = new Coefficients(catalog, weightKg);
+        }
+    }
+    
+    /**
+     * Calories for a number of repetitions of a catalog activity:
+     * 0.0175 * MET * weightKg * 0.033 * reps.
+     */
+    public double repsCalories(int activity, int reps) {
+        return coefficients.perRep[activity] * reps;
+    }
+    
+    /**
+     * Calories for minutes of a catalog activity: 0.0175 * MET * weightKg * minutes.
+     */
+    public double durationCalories(int activity, double minutes) {
+        return coefficients.perMinute[activity] * minutes;
+    }
+    
+    /**
+     * Calories for a run, counting both its duration and its distance:
+     * perMinute * minutes + (perMinute * 60 / speed) * distance.
+     */
+    public double runningCalories(int activity, double minutes, double distanceKm, double speedKmh) {
+        Coefficients c = coefficients;
+        return c.perMinute[activity] * minutes + (c.perHour[activity] / speedKmh) * distanceKm;
+    }
+    
+    /**
+     * Scores count repetition-based activities in one pass, writing calories to out.
+     */
+    public void scoreReps(int[] activities, int[] reps, double[] out, int count) {
+        double[] perRep = coefficients.perRep;
+        for (int i = 0; i < count; i++) {
+            out[i] = perRep[activities[i]] * reps[i];
+        }
+    }
+    
+    /**
+     * Scores count timed activities in one pass, writing calories to out.
+     */
+    public void scoreDurations(int[] activities, double[] minutes, double[] out, int count) {
+        double[] perMinute = coefficients.perMinute;
+        for (int i = 0; i < count; i++) {
+            out[i] = perMinute[activities[i]] * minutes[i];
+        }
+    }
+    
+    /**
+     * Scores count runs in one pass, writing calories to out.
+     */
+    public void scoreRuns(int[] activities, double[] minutes, double[] distancesKm, double[] speedsKmh,
+                          double[] out, int count) {
+        Coefficients c = coefficients;
+        for (int i = 0; i < count; i++) {
+            int activity = activities[i];
+            out[i] = c.perMinute[activity] * minutes[i] + (c.perHour[activity] / speedsKmh[i]) * distancesKm[i];
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package wellnessapp.models;
+
+/**
+ * Builds "name - 123.45 kcal" entry text from fixed-point values by appending digits
+ * straight into a StringBuilder, without String.format or a Formatter.
+ */
+public class CalorieFormatter {
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L};
+    
+    private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(64);
+        }
+    };
+    
+    /**
+     * Returns this thread's reusable builder, emptied. The contents are only valid until
+     * the next call on the same thread.
+     */
+    public static StringBuilder pooledBuilder() {
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        return builder;
+    }
+    
+    /**
+     * Appends "name - value kcal", where value is a fixed-point number with the given
+     * number of decimals, e.g. 12345 with 2 decimals is written as 123.45.
+     */
+    public static StringBuilder appendEntry(StringBuilder out, CharSequence name, long value, int decimals) {
+        out.append(name).append(" - ");
+        appendFixed(out, value, decimals);
+        return out.append(" kcal");
+    }
+    
+    public static StringBuilder appendFixed(StringBuilder out, long value, int decimals) {
+        if (decimals < 0 || decimals >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported number of decimals: " + decimals);
+        }
+        if (decimals == 0) {
+            return out.append(value);
+        }
+        long scale = POWERS_OF_TEN[decimals];
+        long whole = value / scale;
+        long fraction = Math.abs(value % scale);
+        if (value < 0 && whole == 0) {
+            out.append('-');
+        }
+        out.append(whole).append('.');
+        for (long digit = scale / 10; digit > fraction && digit > 1; digit /= 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+}
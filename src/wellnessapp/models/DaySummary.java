@@ -0,0 +1,93 @@
+package wellnessapp.models;
+
+public class DaySummary {
+    private final long epochDay;
+    private final int steps;
+    private final int caloriesBurned;
+    private final int caloriesEaten;
+    private final int waterIntake;
+    private final int habitsCompleted;
+    private final int habitCount;
+    private final int meditationTime;
+    // Totals of the day's meals, indexed by the Nutrients constants
+    private final double[] nutrients;
+    
+    /**
+     * Creates a summary; null nutrients means none were logged.
+     */
+    public DaySummary(long epochDay, int steps, int caloriesBurned, int caloriesEaten, int waterIntake,
+                      int habitsCompleted, int habitCount, int meditationTime, double[] nutrients) {
+        this.epochDay = epochDay;
+        this.steps = steps;
+        this.caloriesBurned = caloriesBurned;
+        this.caloriesEaten = caloriesEaten;
+        this.waterIntake = waterIntake;
+        this.habitsCompleted = habitsCompleted;
+        this.habitCount = habitCount;
+        this.meditationTime = meditationTime;
+        this.nutrients = new double[Nutrients.COUNT];
+        if (nutrients != null) {
+            System.arraycopy(nutrients, 0, this.nutrients, 0, Nutrients.COUNT);
+        }
+    }
+    
+    /**
+     * Sums up the day from the current data. The habit histories must already hold the
+     * day, see HabitTracker.recordDay.
+     */
+    public static DaySummary of(long epochDay, FitnessData fitnessData, MealData mealData,
+                                HabitTracker habitTracker, MindfulnessData mindfulnessData) {
+        return new DaySummary(epochDay,
+            fitnessData.getSteps(), fitnessData.getCaloriesBurned(),
+            mealData.getCaloriesEaten(), mealData.getWaterIntake(),
+            habitTracker.getCompletedCount(epochDay), habitTracker.getHabitCount(),
+            mindfulnessData.getMeditationTime(), mealData.getNutrientTotals());
+    }
+    
+    public long getEpochDay() {
+        return epochDay;
+    }
+    
+    public int getSteps() {
+        return steps;
+    }
+    
+    public int getCaloriesBurned() {
+        return caloriesBurned;
+    }
+    
+    public int getCaloriesEaten() {
+        return caloriesEaten;
+    }
+    
+    public int getWaterIntake() {
+        return waterIntake;
+    }
+    
+    public int getHabitsCompleted() {
+        return habitsCompleted;
+    }
+    
+    public int getHabitCount() {
+        return habitCount;
+    }
+    
+    public int getMeditationTime() {
+        return meditationTime;
+    }
+    
+    public double getNutrient(int nutrient) {
+        return nutrients[nutrient];
+    }
+    
+    public double[] getNutrients() {
+        return nutrients.clone();
+    }
+    
+    @Override
+    public String toString() {
+        return "DaySummary{epochDay=" + epochDay + ", steps=" + steps + ", caloriesBurned=" + caloriesBurned +
+               ", caloriesEaten=" + caloriesEaten + ", waterIntake=" + waterIntake +
+               ", habitsCompleted=" + habitsCompleted + "/" + habitCount + ", meditationTime=" + meditationTime + "}";
+    }
+}
@@ -0,0 +1,751 @@
+package wellnessapp.models;
+
+import java.util.Arrays;
+
+/**
+ * Contents of the built-in MetCatalog. The workouts and sports offered on the fitness
+ * screen use ids from 90000 up, outside the range of compendium codes; the other entries
+ * are taken from the 2011 Compendium of Physical Activities and use its five-digit codes.
+ */
+class DefaultMetActivities {
+    private static final int WORKOUT_IDS = 90000;
+    private static final int SPORT_IDS = 91000;
+    
+    private int[] ids = new int[512];
+    private String[] categories = new String[512];
+    private String[] names = new String[512];
+    private double[] mets = new double[512];
+    private int count;
+    private int workoutCount;
+    private int sportCount;
+    
+    static MetCatalog create() {
+        DefaultMetActivities table = new DefaultMetActivities();
+        table.addWorkouts();
+        table.addSports();
+        table.addCompendium();
+        return new MetCatalog(Arrays.copyOf(table.ids, table.count), Arrays.copyOf(table.categories, table.count),
+                Arrays.copyOf(table.names, table.count), Arrays.copyOf(table.mets, table.count));
+    }
+    
+    private void add(int id, String category, String name, double met) {
+        if (count == ids.length) {
+            int capacity = count * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            names = Arrays.copyOf(names, capacity);
+            mets = Arrays.copyOf(mets, capacity);
+        }
+        ids[count] = id;
+        categories[count] = category;
+        names[count] = name;
+        mets[count] = met;
+        count++;
+    }
+    
+    private void workout(String name, double met) {
+        add(WORKOUT_IDS + ++workoutCount, MetCatalog.WORKOUT, name, met);
+    }
+    
+    private void sport(String name, double met) {
+        add(SPORT_IDS + ++sportCount, MetCatalog.SPORT, name, met);
+    }
+    
+    // The major heading of the compendium is the code divided by 1000
+    private void compendium(int code, double met, String name) {
+        add(code, headingOf(code / 1000), name, met);
+    }
+    
+    private static String headingOf(int major) {
+        switch (major) {
+            case 1: return "Bicycling";
+            case 2: return "Conditioning Exercise";
+            case 3: return "Dancing";
+            case 4: return "Fishing and Hunting";
+            case 5: return "Home Activities";
+            case 6: return "Home Repair";
+            case 7: return "Inactivity";
+            case 8: return "Lawn and Garden";
+            case 9: return "Miscellaneous";
+            case 10: return "Music Playing";
+            case 11: return "Occupation";
+            case 12: return "Running";
+            case 13: return "Self Care";
+            case 15: return "Sports";
+            case 16: return "Transportation";
+            case 17: return "Walking";
+            case 18: return "Water Activities";
+            case 19: return "Winter Activities";
+            case 20: return "Religious Activities";
+            case 21: return "Volunteer Activities";
+            default: throw new IllegalArgumentException("Unknown compendium heading " + major);
+        }
+    }
+    
+    private void addWorkouts() {
+        workout("Push-ups", 8.0);
+        workout("Pull-ups", 8.0);
+        workout("Squats", 5.0);
+        workout("Jump Squats", 8.0);
+        workout("Lunges", 4.5);
+        workout("Sit-ups", 8.0);
+        workout("Crunches", 3.8);
+        workout("Mountain Climbers", 8.0);
+        workout("Burpees", 10.0);
+        workout("Jumping Jacks", 8.0);
+        workout("Dips", 5.0);
+        workout("Calf Raises", 3.5);
+        workout("Deadlifts Light", 6.0);
+        workout("Deadlifts Heavy", 8.0);
+        workout("Bench Press", 6.0);
+        workout("Shoulder Press", 5.0);
+        workout("Bicep Curls", 3.5);
+        workout("Tricep Extension", 3.5);
+        workout("Dumbbell Rows", 6.0);
+        workout("Kettlebell Swings", 9.8);
+        workout("Kettlebell Snatch", 10.0);
+    }
+    
+    private void addSports() {
+        sport("Running Slow (6 km/h)", 6.0);
+        sport("Running Moderate (8 km/h)", 8.3);
+        sport("Running Fast (10 km/h)", 10.0);
+        sport("Running Very Fast (12 km/h)", 11.0);
+        sport("Cycling Light", 4.0);
+        sport("Cycling Moderate", 8.0);
+        sport("Cycling Fast", 10.0);
+        sport("Swimming Casual", 6.0);
+        sport("Swimming Fast", 10.0);
+        sport("Football", 7.0);
+        sport("Basketball", 6.5);
+        sport("Tennis Singles", 8.0);
+        sport("Tennis Doubles", 6.0);
+        sport("Badminton", 7.0);
+        sport("Cricket", 5.5);
+        sport("Volleyball", 3.8);
+        sport("Boxing", 12.0);
+        sport("CrossFit", 12.0);
+        sport("Hiking", 6.0);
+        sport("Rowing Moderate", 7.0);
+        sport("Rowing Fast", 12.0);
+        sport("Rope Skipping", 12.3);
+        sport("Elliptical", 5.0);
+    }
+    
+    private void addCompendium() {
+        compendium(1003, 14.0, "Bicycling, mountain, uphill, vigorous");
+        compendium(1004, 16.0, "Bicycling, mountain, competitive, racing");
+        compendium(1008, 8.5, "Bicycling, BMX");
+        compendium(1009, 8.5, "Bicycling, mountain, general");
+        compendium(1010, 4.0, "Bicycling, <10 mph, leisure, to work or for pleasure");
+        compendium(1011, 6.8, "Bicycling, to/from work, self selected pace");
+        compendium(1013, 5.8, "Bicycling, on dirt or farm road, moderate pace");
+        compendium(1015, 7.5, "Bicycling, general");
+        compendium(1018, 3.5, "Bicycling, leisure, 5.5 mph");
+        compendium(1019, 5.8, "Bicycling, leisure, 9.4 mph");
+        compendium(1020, 6.8, "Bicycling, 10-11.9 mph, leisure, slow, light effort");
+        compendium(1030, 8.0, "Bicycling, 12-13.9 mph, leisure, moderate effort");
+        compendium(1040, 10.0, "Bicycling, 14-15.9 mph, racing or leisure, fast, vigorous effort");
+        compendium(1050, 12.0, "Bicycling, 16-19 mph, racing, very fast");
+        compendium(1060, 15.8, "Bicycling, >20 mph, racing, not drafting");
+        compendium(1070, 5.0, "Unicycling");
+        
+        compendium(2001, 2.3, "Activity promoting video game, light effort");
+        compendium(2003, 3.8, "Activity promoting video game, moderate effort");
+        compendium(2005, 7.2, "Activity promoting video game, vigorous effort");
+        compendium(2008, 5.0, "Army type obstacle course exercise, boot camp training");
+        compendium(2010, 7.0, "Bicycling, stationary, general");
+        compendium(2011, 3.5, "Bicycling, stationary, 30-50 watts, very light to light effort");
+        compendium(2017, 4.8, "Bicycling, stationary, 51-89 watts, light-to-moderate effort");
+        compendium(2012, 6.8, "Bicycling, stationary, 90-100 watts, moderate to vigorous effort");
+        compendium(2013, 8.8, "Bicycling, stationary, 101-160 watts, vigorous effort");
+        compendium(2014, 11.0, "Bicycling, stationary, 161-200 watts, vigorous effort");
+        compendium(2015, 14.0, "Bicycling, stationary, 201-270 watts, very vigorous effort");
+        compendium(2019, 8.5, "Bicycling, stationary, RPM/Spin bike class");
+        compendium(2020, 8.0, "Calisthenics (push ups, sit ups, pull-ups, jumping jacks), vigorous effort");
+        compendium(2022, 3.8, "Calisthenics (push ups, sit ups, pull-ups, lunges), moderate effort");
+        compendium(2024, 2.8, "Calisthenics (sit ups, abdominal crunches), light effort");
+        compendium(2030, 3.5, "Calisthenics, light or moderate effort, general");
+        compendium(2035, 4.3, "Circuit training, moderate effort");
+        compendium(2040, 8.0, "Circuit training, including kettlebells, vigorous intensity");
+        compendium(2048, 5.0, "Elliptical trainer, moderate effort");
+        compendium(2050, 6.0, "Resistance training, power lifting or body building, vigorous effort");
+        compendium(2052, 5.0, "Resistance training, squats, slow or explosive effort");
+        compendium(2054, 3.5, "Resistance training, multiple exercises, 8-15 repetitions");
+        compendium(2060, 5.5, "Health club exercise, general");
+        compendium(2061, 5.0, "Health club exercise classes, general");
+        compendium(2062, 7.8, "Health club exercise, conditioning classes");
+        compendium(2064, 3.8, "Home exercise, general");
+        compendium(2065, 9.0, "Stair-treadmill ergometer, general");
+        compendium(2068, 12.3, "Rope skipping, general");
+        compendium(2070, 6.0, "Rowing, stationary ergometer, general, vigorous effort");
+        compendium(2071, 4.8, "Rowing, stationary, general, moderate effort");
+        compendium(2072, 7.0, "Rowing, stationary, 100 watts, moderate effort");
+        compendium(2073, 8.5, "Rowing, stationary, 150 watts, vigorous effort");
+        compendium(2074, 12.0, "Rowing, stationary, 200 watts, very vigorous effort");
+        compendium(2080, 6.8, "Ski machine, general");
+        compendium(2085, 11.0, "Slide board exercise, general");
+        compendium(2090, 6.0, "Slimnastics, jazzercise");
+        compendium(2101, 2.3, "Stretching, mild");
+        compendium(2105, 3.0, "Pilates, general");
+        compendium(2110, 6.8, "Teaching exercise class (aerobic, water)");
+        compendium(2112, 2.8, "Therapeutic exercise ball, Fitball exercise");
+        compendium(2115, 2.8, "Upper body exercise, arm ergometer");
+        compendium(2120, 5.3, "Water aerobics, water calisthenics, water exercise");
+        compendium(2135, 1.3, "Whirlpool, sitting");
+        compendium(2140, 2.3, "Video exercise workouts (yoga, stretching), light effort");
+        compendium(2143, 4.0, "Video exercise workouts (cardio-resistance), moderate effort");
+        compendium(2146, 6.0, "Video exercise workouts (cardio-resistance), vigorous effort");
+        compendium(2150, 2.5, "Yoga, Hatha");
+        compendium(2160, 4.0, "Yoga, Power");
+        compendium(2170, 2.0, "Yoga, Nadisodhana");
+        compendium(2180, 3.3, "Yoga, Surya Namaskar");
+        
+        compendium(3010, 5.0, "Ballet, modern, or jazz, general, rehearsal or class");
+        compendium(3012, 6.8, "Ballet, modern, or jazz, performance, vigorous effort");
+        compendium(3014, 4.8, "Tap dancing");
+        compendium(3015, 7.3, "Aerobic dance, general");
+        compendium(3016, 7.5, "Aerobic dance, step, with 6-8 inch step");
+        compendium(3017, 9.5, "Aerobic dance, step, with 10-12 inch step");
+        compendium(3018, 5.5, "Aerobic dance, step, with 4-inch step");
+        compendium(3019, 8.5, "Bench step class, general");
+        compendium(3020, 5.0, "Aerobic dance, low impact");
+        compendium(3021, 7.3, "Aerobic dance, high impact");
+        compendium(3022, 10.0, "Aerobic dance wearing 10-15 lb weights");
+        compendium(3025, 4.5, "Ethnic or cultural dancing (salsa, merengue, flamenco, belly, swing)");
+        compendium(3030, 5.5, "Ballroom, dancing fast");
+        compendium(3031, 7.8, "General dancing (disco, folk, Irish step, line dancing, polka, country)");
+        compendium(3038, 11.3, "Ballroom dancing, competitive, general");
+        compendium(3040, 3.0, "Ballroom, slow (waltz, foxtrot, slow dancing, tango, cha cha)");
+        
+        compendium(4001, 3.5, "Fishing, general");
+        compendium(4005, 4.5, "Fishing, crab fishing");
+        compendium(4020, 4.0, "Fishing from river bank and walking");
+        compendium(4030, 2.0, "Fishing from boat or canoe, sitting");
+        compendium(4040, 3.5, "Fishing from river bank, standing");
+        compendium(4050, 6.0, "Fishing in stream, in waders");
+        compendium(4060, 2.0, "Fishing, ice, sitting");
+        compendium(4070, 2.5, "Hunting, bow and arrow, or crossbow");
+        compendium(4080, 6.0, "Hunting, deer, elk, large game");
+        compendium(4090, 2.5, "Hunting, duck, wading");
+        compendium(4100, 5.0, "Hunting, general");
+        compendium(4110, 6.0, "Hunting, pheasants or grouse");
+        compendium(4120, 5.0, "Hunting, rabbit, squirrel, raccoon, small game");
+        
+        compendium(5010, 3.3, "Cleaning, sweeping carpet or floors, general");
+        compendium(5011, 2.3, "Cleaning, sweeping, slow, light effort");
+        compendium(5012, 3.8, "Cleaning, sweeping, slow, moderate effort");
+        compendium(5020, 3.5, "Cleaning, heavy or major (wash car, wash windows, clean garage)");
+        compendium(5021, 3.5, "Cleaning, mopping, standing, moderate effort");
+        compendium(5022, 3.2, "Cleaning windows, washing windows, general");
+        compendium(5023, 2.5, "Mopping, standing, light effort");
+        compendium(5025, 2.8, "Multiple household tasks all at once, light effort");
+        compendium(5026, 3.5, "Multiple household tasks all at once, moderate effort");
+        compendium(5027, 4.3, "Multiple household tasks all at once, vigorous effort");
+        compendium(5030, 3.3, "Cleaning, house or cabin, general, moderate effort");
+        compendium(5032, 2.3, "Dusting or polishing furniture, general");
+        compendium(5035, 3.3, "Kitchen activity, general (cooking, washing dishes, cleaning up)");
+        compendium(5040, 2.5, "Cleaning, general (straightening up, changing linen, carrying out trash)");
+        compendium(5041, 1.8, "Wash dishes, standing or in general");
+        compendium(5043, 3.3, "Vacuuming, general, moderate effort");
+        compendium(5049, 3.5, "Cooking or food preparation, moderate effort");
+        compendium(5050, 2.0, "Cooking or food preparation, standing or sitting, light effort");
+        compendium(5051, 2.5, "Serving food, setting table");
+        compendium(5052, 2.5, "Cooking or food preparation, walking");
+        compendium(5053, 2.5, "Feeding household animals");
+        compendium(5055, 2.5, "Putting away groceries, carrying packages");
+        compendium(5056, 7.5, "Carrying groceries upstairs");
+        compendium(5060, 2.3, "Food shopping with or without a grocery cart");
+        compendium(5065, 2.3, "Non-food shopping, with or without a cart");
+        compendium(5070, 1.8, "Ironing");
+        compendium(5080, 1.3, "Knitting, sewing, wrapping presents, sitting");
+        compendium(5082, 2.8, "Sewing with a machine");
+        compendium(5090, 2.0, "Laundry, fold or hang clothes, put clothes in washer or dryer");
+        compendium(5092, 4.0, "Laundry, hanging wash, washing clothes by hand, moderate effort");
+        compendium(5095, 2.3, "Laundry, putting away clothes, gathering clothes to pack");
+        compendium(5100, 3.3, "Making bed, changing linens");
+        compendium(5120, 5.8, "Moving furniture, household items, carrying boxes");
+        compendium(5121, 5.0, "Moving, lifting light loads");
+        compendium(5125, 4.8, "Organizing room");
+        compendium(5130, 3.5, "Scrubbing floors, on hands and knees, moderate effort");
+        compendium(5131, 2.0, "Scrubbing floors, on hands and knees, light effort");
+        compendium(5132, 6.5, "Scrubbing floors, on hands and knees, vigorous effort");
+        compendium(5140, 4.0, "Sweeping garage, sidewalk or outside of house");
+        compendium(5146, 3.5, "Packing/unpacking boxes, loading or unloading a car, moderate effort");
+        compendium(5148, 2.5, "Watering plants");
+        compendium(5149, 2.5, "Building a fire inside");
+        compendium(5150, 9.0, "Moving household items upstairs, carrying boxes or furniture");
+        compendium(5160, 2.0, "Standing, light effort tasks (pump gas, change light bulb)");
+        compendium(5170, 2.2, "Sitting, playing with children, light effort");
+        compendium(5171, 2.8, "Standing, playing with children, light effort");
+        compendium(5175, 3.5, "Walking/running, playing with children, moderate effort");
+        compendium(5180, 5.8, "Walking/running, playing with children, vigorous effort");
+        compendium(5181, 3.0, "Walking and carrying small child, 15 lbs or more");
+        compendium(5182, 2.3, "Walking and carrying small child, less than 15 lbs");
+        compendium(5183, 2.0, "Standing, holding child");
+        compendium(5184, 2.5, "Child care, infant, general");
+        compendium(5186, 3.0, "Child care, standing (dressing, bathing, feeding), moderate effort");
+        compendium(5190, 2.5, "Sitting, playing with animals, light effort");
+        compendium(5191, 2.8, "Standing, playing with animals, light effort");
+        compendium(5192, 3.0, "Walking/running, playing with animals, light effort");
+        compendium(5193, 4.0, "Walking/running, playing with animals, moderate effort");
+        compendium(5194, 5.0, "Walking/running, playing with animals, vigorous effort");
+        compendium(5195, 3.5, "Standing, bathing dog");
+        compendium(5197, 2.3, "Animal care, household animals, general");
+        
+        compendium(6010, 3.0, "Airplane repair");
+        compendium(6020, 4.0, "Automobile body work");
+        compendium(6030, 3.3, "Automobile repair, light or moderate effort");
+        compendium(6040, 3.0, "Carpentry, general, workshop");
+        compendium(6050, 6.0, "Carpentry, outside house, installing rain gutters");
+        compendium(6052, 3.8, "Carpentry, outside house, building a fence");
+        compendium(6060, 3.3, "Carpentry, finishing or refinishing cabinets or furniture");
+        compendium(6070, 6.0, "Carpentry, sawing hardwood");
+        compendium(6072, 4.0, "Carpentry, home remodeling tasks, moderate effort");
+        compendium(6074, 2.3, "Carpentry, home remodeling tasks, light effort");
+        compendium(6100, 5.0, "Cleaning gutters");
+        compendium(6120, 5.0, "Hanging storm windows");
+        compendium(6122, 5.0, "Hanging sheet rock inside house");
+        compendium(6124, 3.0, "Hammering nails");
+        compendium(6125, 2.5, "Home repair, general, light effort");
+        compendium(6126, 4.5, "Home repair, general, moderate effort");
+        compendium(6127, 6.0, "Home repair, general, vigorous effort");
+        compendium(6130, 4.0, "Laying or removing carpet");
+        compendium(6140, 3.8, "Laying tile or linoleum, repairing appliances");
+        compendium(6150, 5.0, "Painting, outside home");
+        compendium(6160, 3.3, "Painting inside house, wallpapering, scraping paint");
+        compendium(6167, 3.0, "Plumbing, general");
+        compendium(6180, 6.0, "Roofing");
+        compendium(6190, 4.5, "Sanding floors with a power sander");
+        compendium(6205, 2.0, "Sharpening tools");
+        compendium(6210, 5.0, "Spreading dirt with a shovel");
+        compendium(6225, 2.0, "Washing and waxing car");
+        compendium(6240, 3.3, "Wiring, tapping-splicing");
+        
+        compendium(7010, 1.0, "Lying quietly and watching television");
+        compendium(7011, 1.3, "Lying quietly, doing nothing, lying in bed awake");
+        compendium(7020, 1.3, "Sitting quietly and watching television");
+        compendium(7021, 1.3, "Sitting quietly, general");
+        compendium(7022, 1.5, "Sitting quietly, fidgeting hands");
+        compendium(7023, 1.8, "Sitting, fidgeting feet");
+        compendium(7025, 1.5, "Sitting, listening to music or watching a movie in a theater");
+        compendium(7030, 0.95, "Sleeping");
+        compendium(7040, 1.3, "Standing quietly, standing in a line");
+        compendium(7041, 1.8, "Standing, fidgeting");
+        compendium(7050, 1.3, "Reclining, writing");
+        compendium(7060, 1.3, "Reclining, talking or talking on phone");
+        compendium(7070, 1.3, "Reclining, reading");
+        compendium(7075, 1.0, "Meditating");
+        
+        compendium(8009, 3.3, "Carrying, loading or stacking wood, light-to-moderate effort");
+        compendium(8010, 5.5, "Carrying, loading or stacking wood, loading/unloading lumber");
+        compendium(8019, 4.5, "Chopping wood, splitting logs, moderate effort");
+        compendium(8020, 6.3, "Chopping wood, splitting logs, vigorous effort");
+        compendium(8025, 3.5, "Clearing light brush, thinning garden, moderate effort");
+        compendium(8040, 5.0, "Digging sandbox, shoveling sand");
+        compendium(8045, 3.5, "Digging, spading, filling garden, composting, light-to-moderate effort");
+        compendium(8050, 5.0, "Digging, spading, filling garden, composting");
+        compendium(8052, 7.8, "Digging, spading, filling garden, composting, vigorous effort");
+        compendium(8060, 5.8, "Gardening with heavy power tools, tilling a garden, chain saw");
+        compendium(8065, 2.3, "Gardening, using containers, older adults");
+        compendium(8080, 6.3, "Laying crushed rock");
+        compendium(8090, 5.0, "Laying sod");
+        compendium(8095, 5.5, "Mowing lawn, general");
+        compendium(8100, 2.5, "Mowing lawn, riding mower");
+        compendium(8110, 6.0, "Mowing lawn, walk, hand mower");
+        compendium(8120, 5.0, "Mowing lawn, walk, power mower, moderate or vigorous effort");
+        compendium(8125, 4.5, "Mowing lawn, power mower, light or moderate effort");
+        compendium(8130, 2.5, "Operating snow blower, walking");
+        compendium(8135, 2.0, "Planting, potting, transplanting seedlings or plants, light effort");
+        compendium(8140, 4.3, "Planting seedlings, shrub, stooping, moderate effort");
+        compendium(8145, 4.3, "Planting crops or garden, stooping, moderate effort");
+        compendium(8150, 4.5, "Planting trees");
+        compendium(8160, 3.8, "Raking lawn or leaves, moderate effort");
+        compendium(8165, 4.0, "Raking lawn");
+        compendium(8170, 4.0, "Raking roof with snow rake");
+        compendium(8180, 3.0, "Riding snow blower");
+        compendium(8190, 4.0, "Sacking grass, leaves");
+        compendium(8192, 5.5, "Shoveling dirt or mud");
+        compendium(8195, 5.3, "Shoveling snow, by hand, moderate effort");
+        compendium(8200, 7.5, "Shoveling snow, by hand, vigorous effort");
+        compendium(8210, 4.0, "Trimming shrubs or trees, manual cutter");
+        compendium(8215, 3.5, "Trimming shrubs or trees, power cutter, using leaf blower");
+        compendium(8220, 3.0, "Walking, applying fertilizer or seeding a lawn, push applicator");
+        compendium(8230, 1.5, "Watering lawn or garden, standing or walking");
+        compendium(8239, 3.5, "Weeding, cultivating garden, light-to-moderate effort");
+        compendium(8240, 4.5, "Weeding, cultivating garden");
+        compendium(8241, 5.0, "Weeding, cultivating garden, using a hoe, moderate-to-vigorous effort");
+        compendium(8245, 3.8, "Gardening, general, moderate effort");
+        compendium(8246, 3.5, "Picking fruit off trees, picking fruits/vegetables, moderate effort");
+        compendium(8250, 3.3, "Picking up yard, picking flowers or vegetables");
+        compendium(8251, 3.0, "Walking, gathering gardening tools");
+        compendium(8255, 5.5, "Pushing garden cart or wheelbarrow");
+        compendium(8260, 3.0, "Yard work, general, light effort");
+        compendium(8261, 4.0, "Yard work, general, moderate effort");
+        compendium(8262, 6.0, "Yard work, general, vigorous effort");
+        
+        compendium(9000, 1.5, "Board game playing, sitting");
+        compendium(9005, 2.5, "Casino gambling, standing");
+        compendium(9010, 1.5, "Card playing, sitting");
+        compendium(9013, 1.5, "Chess game, sitting");
+        compendium(9015, 1.5, "Copying documents, standing");
+        compendium(9020, 1.8, "Drawing, writing, painting, standing");
+        compendium(9030, 1.3, "Sitting, reading, book, newspaper");
+        compendium(9040, 1.3, "Sitting, writing, desk work, typing");
+        compendium(9045, 1.0, "Sitting, playing traditional video game, computer game");
+        compendium(9050, 1.8, "Standing, talking in person, on the phone or text messaging");
+        compendium(9055, 1.5, "Sitting, talking in person, on the phone or text messaging");
+        compendium(9060, 1.3, "Sitting, studying, general, including reading and/or writing");
+        compendium(9065, 1.8, "Sitting, in class, general, including note-taking");
+        compendium(9070, 1.8, "Standing, reading");
+        compendium(9071, 2.5, "Standing, miscellaneous");
+        compendium(9075, 1.8, "Sitting, arts and crafts, carving wood, weaving, light effort");
+        compendium(9080, 3.0, "Sitting, arts and crafts, carving wood, weaving, moderate effort");
+        compendium(9085, 2.5, "Standing, arts and crafts, sand painting, carving, light effort");
+        compendium(9090, 3.3, "Standing, arts and crafts, sand painting, carving, moderate effort");
+        compendium(9095, 3.5, "Standing, arts and crafts, sand painting, carving, vigorous effort");
+        compendium(9100, 1.8, "Family reunion activities, sitting, relaxing, talking, eating");
+        compendium(9101, 3.0, "Family reunion activities, playing games with children");
+        compendium(9105, 2.0, "Touring/traveling/vacation involving riding in a vehicle");
+        compendium(9106, 3.5, "Touring/traveling/vacation involving walking");
+        compendium(9110, 2.5, "Camping, standing, walking, sitting, light-to-moderate effort");
+        compendium(9115, 1.5, "Sitting at a sporting event, spectator");
+        
+        compendium(10010, 1.8, "Accordion, sitting");
+        compendium(10020, 2.3, "Cello, sitting");
+        compendium(10030, 2.3, "Conducting orchestra, standing");
+        compendium(10035, 2.5, "Double bass, standing");
+        compendium(10040, 3.8, "Drums, sitting");
+        compendium(10045, 3.0, "Drumming (bongo, conga), moderate, sitting");
+        compendium(10050, 2.0, "Flute, sitting");
+        compendium(10060, 1.8, "Horn, standing");
+        compendium(10070, 2.3, "Piano, sitting");
+        compendium(10074, 2.0, "Playing musical instruments, general");
+        compendium(10077, 2.0, "Organ, sitting");
+        compendium(10080, 3.5, "Trombone, standing");
+        compendium(10090, 1.8, "Trumpet, standing");
+        compendium(10100, 2.5, "Violin, sitting");
+        compendium(10110, 1.8, "Woodwind, sitting");
+        compendium(10120, 2.0, "Guitar, classical, folk, sitting");
+        compendium(10125, 3.0, "Guitar, rock and roll band, standing");
+        compendium(10130, 4.0, "Marching band, baton twirling, walking, moderate pace");
+        compendium(10131, 5.5, "Marching band, playing an instrument, walking, brisk pace");
+        compendium(10135, 3.5, "Marching band, drum major, walking");
+        
+        compendium(11003, 2.3, "Active workstation, treadmill desk, walking");
+        compendium(11010, 4.0, "Airline flight attendant");
+        compendium(11015, 3.0, "Bakery, general, moderate effort");
+        compendium(11020, 2.5, "Bakery, light effort");
+        compendium(11030, 2.2, "Bookbinding");
+        compendium(11050, 8.0, "Carrying heavy loads (bricks, tools)");
+        compendium(11115, 2.5, "Cook, chef");
+        compendium(11580, 1.5, "Sitting tasks, light effort (office work, computer work, desk work)");
+        compendium(11585, 1.5, "Sitting meetings, light effort, general");
+        compendium(11590, 2.5, "Sitting tasks, moderate effort (pushing heavy levers, forklift)");
+        compendium(11600, 3.0, "Standing tasks, light effort (bartending, store clerk, assembling)");
+        compendium(11615, 4.5, "Standing, moderate/heavy tasks (lifting more than 50 lbs, masonry)");
+        
+        compendium(12010, 6.0, "Jog/walk combination, jogging component of less than 10 minutes");
+        compendium(12020, 7.0, "Jogging, general");
+        compendium(12025, 8.0, "Jogging, in place");
+        compendium(12027, 4.5, "Jogging, on a mini-tramp");
+        compendium(12029, 6.0, "Running, 4 mph (13 min/mile)");
+        compendium(12030, 8.3, "Running, 5 mph (12 min/mile)");
+        compendium(12040, 9.0, "Running, 5.2 mph (11.5 min/mile)");
+        compendium(12050, 9.8, "Running, 6 mph (10 min/mile)");
+        compendium(12060, 10.5, "Running, 6.7 mph (9 min/mile)");
+        compendium(12070, 11.0, "Running, 7 mph (8.5 min/mile)");
+        compendium(12080, 11.5, "Running, 7.5 mph (8 min/mile)");
+        compendium(12090, 11.8, "Running, 8 mph (7.5 min/mile)");
+        compendium(12100, 12.3, "Running, 8.6 mph (7 min/mile)");
+        compendium(12110, 12.8, "Running, 9 mph (6.5 min/mile)");
+        compendium(12120, 14.5, "Running, 10 mph (6 min/mile)");
+        compendium(12130, 16.0, "Running, 11 mph (5.5 min/mile)");
+        compendium(12132, 19.0, "Running, 12 mph (5 min/mile)");
+        compendium(12134, 19.8, "Running, 13 mph (4.6 min/mile)");
+        compendium(12135, 23.0, "Running, 14 mph (4.3 min/mile)");
+        compendium(12140, 9.0, "Running, cross country");
+        compendium(12150, 8.0, "Running, general");
+        compendium(12170, 15.0, "Running, stairs, up");
+        compendium(12180, 10.0, "Running, on a track, team practice");
+        compendium(12190, 8.0, "Running, training, pushing a wheelchair or baby carrier");
+        compendium(12200, 13.3, "Running, marathon");
+        
+        compendium(13000, 2.3, "Getting ready for bed, general, standing");
+        compendium(13010, 1.5, "Bathing, sitting");
+        compendium(13020, 2.5, "Dressing, undressing, standing or sitting");
+        compendium(13030, 1.5, "Eating, sitting");
+        compendium(13035, 2.0, "Talking and eating or eating only, standing");
+        compendium(13040, 2.0, "Grooming, washing hands, shaving, brushing teeth");
+        compendium(13045, 2.5, "Hairstyling, standing");
+        compendium(13046, 1.3, "Having hair or nails done by someone else, sitting");
+        compendium(13050, 2.0, "Showering, toweling off, standing");
+        
+        compendium(15010, 4.3, "Archery, non-hunting");
+        compendium(15020, 7.0, "Badminton, competitive");
+        compendium(15030, 5.5, "Badminton, social singles and doubles, general");
+        compendium(15040, 8.0, "Basketball, game");
+        compendium(15050, 6.0, "Basketball, non-game, general");
+        compendium(15055, 6.5, "Basketball, general");
+        compendium(15060, 7.0, "Basketball, officiating");
+        compendium(15070, 4.5, "Basketball, shooting baskets");
+        compendium(15072, 9.3, "Basketball, drills, practice");
+        compendium(15075, 7.8, "Basketball, wheelchair");
+        compendium(15080, 2.5, "Billiards");
+        compendium(15090, 3.8, "Bowling");
+        compendium(15092, 4.5, "Bowling, indoor, bowling alley");
+        compendium(15100, 12.8, "Boxing, in ring, general");
+        compendium(15110, 5.5, "Boxing, punching bag");
+        compendium(15120, 7.8, "Boxing, sparring");
+        compendium(15130, 7.0, "Broomball");
+        compendium(15135, 5.8, "Children's games, adults playing (hopscotch, dodgeball), moderate effort");
+        compendium(15138, 6.0, "Cheerleading, gymnastic moves, competitive");
+        compendium(15140, 4.0, "Coaching, football, soccer, basketball, baseball, swimming");
+        compendium(15142, 8.0, "Coaching, actively playing sport with players");
+        compendium(15150, 4.8, "Cricket, batting, bowling, fielding");
+        compendium(15160, 3.3, "Croquet");
+        compendium(15170, 4.0, "Curling");
+        compendium(15180, 2.5, "Darts, wall or lawn");
+        compendium(15200, 6.0, "Fencing");
+        compendium(15210, 8.0, "Football, competitive");
+        compendium(15230, 8.0, "Football, touch, flag, general");
+        compendium(15232, 4.0, "Football, touch, flag, light effort");
+        compendium(15235, 2.5, "Football or baseball, playing catch");
+        compendium(15240, 3.0, "Frisbee playing, general");
+        compendium(15250, 8.0, "Frisbee, ultimate");
+        compendium(15255, 4.8, "Golf, general");
+        compendium(15265, 4.3, "Golf, walking, carrying clubs");
+        compendium(15270, 3.0, "Golf, miniature, driving range");
+        compendium(15285, 5.3, "Golf, walking, pulling clubs");
+        compendium(15290, 3.5, "Golf, using power cart");
+        compendium(15300, 3.8, "Gymnastics, general");
+        compendium(15310, 4.0, "Hacky sack");
+        compendium(15320, 12.0, "Handball, general");
+        compendium(15330, 8.0, "Handball, team");
+        compendium(15335, 4.0, "High ropes course, multiple elements");
+        compendium(15340, 3.5, "Hang gliding");
+        compendium(15350, 7.8, "Hockey, field");
+        compendium(15360, 8.0, "Hockey, ice, general");
+        compendium(15362, 10.0, "Hockey, ice, competitive");
+        compendium(15370, 5.5, "Horseback riding, general");
+        compendium(15375, 4.3, "Horse chores, feeding, watering, cleaning stalls");
+        compendium(15380, 4.5, "Saddling, cleaning, grooming, harnessing and unharnessing horse");
+        compendium(15390, 5.8, "Horseback riding, trotting");
+        compendium(15395, 7.3, "Horseback riding, canter or gallop");
+        compendium(15400, 3.8, "Horseback riding, walking");
+        compendium(15402, 9.0, "Horseback riding, jumping");
+        compendium(15410, 3.0, "Horseshoe pitching, quoits");
+        compendium(15420, 12.0, "Jai alai");
+        compendium(15425, 5.3, "Martial arts, slower pace, novice performers, practice");
+        compendium(15430, 10.3, "Martial arts, moderate pace (judo, jujitsu, karate, kick boxing, tae kwon do)");
+        compendium(15440, 4.0, "Juggling");
+        compendium(15450, 7.0, "Kickball");
+        compendium(15460, 8.0, "Lacrosse");
+        compendium(15465, 3.3, "Lawn bowling, bocce ball, outdoor");
+        compendium(15470, 4.0, "Moto-cross, off-road motor sports, all-terrain vehicle");
+        compendium(15480, 9.0, "Orienteering");
+        compendium(15490, 10.0, "Paddleball, competitive");
+        compendium(15500, 6.0, "Paddleball, casual, general");
+        compendium(15510, 8.0, "Polo, on horseback");
+        compendium(15520, 10.0, "Racquetball, competitive");
+        compendium(15530, 7.0, "Racquetball, general");
+        compendium(15533, 8.0, "Rock climbing, ascending rock, high difficulty");
+        compendium(15535, 7.5, "Rock climbing, ascending or traversing rock, low-to-moderate difficulty");
+        compendium(15537, 5.0, "Rock climbing, rappelling");
+        compendium(15540, 5.0, "Rodeo sports, general, light effort");
+        compendium(15550, 12.3, "Rope jumping, fast pace, 120-160 skips/min");
+        compendium(15551, 11.8, "Rope jumping, moderate pace, 100-120 skips/min");
+        compendium(15552, 8.8, "Rope jumping, slow pace, <100 skips/min");
+        compendium(15560, 8.3, "Rugby, union, team, competitive");
+        compendium(15562, 6.3, "Rugby, touch, non-competitive");
+        compendium(15570, 3.0, "Shuffleboard");
+        compendium(15580, 5.0, "Skateboarding, general, moderate effort");
+        compendium(15582, 6.0, "Skateboarding, competitive, vigorous effort");
+        compendium(15590, 7.0, "Skating, roller");
+        compendium(15591, 7.5, "Rollerblading, in-line skating, 9.0 mph, recreational pace");
+        compendium(15592, 9.8, "Rollerblading, in-line skating, 11.0 mph, moderate pace");
+        compendium(15593, 12.3, "Rollerblading, in-line skating, 13.0 to 13.6 mph, fast pace");
+        compendium(15594, 14.0, "Rollerblading, in-line skating, 15.0 mph, maximal effort");
+        compendium(15600, 3.5, "Skydiving, base jumping, bungee jumping");
+        compendium(15605, 10.0, "Soccer, competitive");
+        compendium(15610, 7.0, "Soccer, casual, general");
+        compendium(15620, 5.0, "Softball or baseball, fast or slow pitch, general");
+        compendium(15625, 4.0, "Softball, practice");
+        compendium(15630, 4.0, "Softball, officiating");
+        compendium(15640, 6.0, "Softball, pitching");
+        compendium(15645, 3.3, "Sports spectator, very excited, emotional, physically moving");
+        compendium(15650, 12.0, "Squash");
+        compendium(15652, 7.3, "Squash, general");
+        compendium(15660, 4.0, "Table tennis, ping pong");
+        compendium(15670, 3.0, "Tai chi, qi gong, general");
+        compendium(15672, 1.5, "Tai chi, qi gong, sitting, light effort");
+        compendium(15675, 7.3, "Tennis, general");
+        compendium(15680, 6.0, "Tennis, doubles");
+        compendium(15685, 4.5, "Tennis, doubles, recreational");
+        compendium(15690, 8.0, "Tennis, singles");
+        compendium(15695, 5.0, "Tennis, hitting balls, non-game play, moderate effort");
+        compendium(15700, 3.5, "Trampoline, recreational");
+        compendium(15702, 4.5, "Trampoline, competitive");
+        compendium(15710, 4.0, "Volleyball, general");
+        compendium(15711, 6.0, "Volleyball, competitive, in gymnasium");
+        compendium(15720, 3.0, "Volleyball, non-competitive, 6-9 member team, general");
+        compendium(15725, 8.0, "Volleyball, beach, in sand");
+        compendium(15730, 6.0, "Wrestling");
+        compendium(15731, 7.0, "Wallyball, general");
+        compendium(15732, 4.0, "Track and field (shot, discus, hammer throw)");
+        compendium(15733, 6.0, "Track and field (high jump, long jump, triple jump, javelin, pole vault)");
+        compendium(15734, 10.0, "Track and field (steeplechase, hurdles)");
+        
+        compendium(16010, 2.5, "Automobile or light truck driving");
+        compendium(16015, 1.3, "Riding in a car or truck");
+        compendium(16016, 1.3, "Riding in a bus or train");
+        compendium(16020, 1.8, "Flying airplane or helicopter");
+        compendium(16030, 3.5, "Motor scooter, motorcycle");
+        compendium(16035, 6.3, "Pulling rickshaw");
+        compendium(16040, 6.0, "Pushing plane in and out of hangar");
+        compendium(16050, 2.5, "Truck, semi, tractor or bus, driving");
+        compendium(16060, 3.5, "Walking for transportation, 2.8-3.2 mph, level, moderate pace");
+        
+        compendium(17010, 7.0, "Backpacking");
+        compendium(17012, 7.8, "Backpacking, hiking or organized walking with a daypack");
+        compendium(17020, 5.0, "Carrying 15 pound load (suitcase), level ground or downstairs");
+        compendium(17021, 2.3, "Carrying 15 lb child, slow walking");
+        compendium(17025, 8.3, "Carrying load upstairs, general");
+        compendium(17026, 5.0, "Carrying 1 to 15 lb load, upstairs");
+        compendium(17027, 6.0, "Carrying 16 to 24 lb load, upstairs");
+        compendium(17028, 8.0, "Carrying 25 to 49 lb load, upstairs");
+        compendium(17029, 10.0, "Carrying 50 to 74 lb load, upstairs");
+        compendium(17030, 12.0, "Carrying >74 lb load, upstairs");
+        compendium(17031, 3.5, "Loading/unloading a car");
+        compendium(17033, 6.3, "Climbing hills, no load");
+        compendium(17035, 6.5, "Climbing hills with 0 to 9 pound load");
+        compendium(17040, 7.3, "Climbing hills with 10 to 20 pound load");
+        compendium(17050, 8.3, "Climbing hills with 21 to 42 pound load");
+        compendium(17060, 9.0, "Climbing hills with 42+ pound load");
+        compendium(17070, 3.5, "Descending stairs");
+        compendium(17080, 6.0, "Hiking, cross country");
+        compendium(17082, 5.3, "Hiking or walking at a normal pace through fields and hillsides");
+        compendium(17085, 2.5, "Bird watching, slow walk");
+        compendium(17088, 4.5, "Marching, moderate speed, military, no pack");
+        compendium(17090, 8.0, "Marching rapidly, military, no pack");
+        compendium(17100, 4.0, "Pushing or pulling stroller with child, 2.5 to 3.1 mph");
+        compendium(17105, 3.8, "Pushing a wheelchair, non-occupational");
+        compendium(17110, 6.5, "Race walking");
+        compendium(17130, 8.0, "Stair climbing, using or climbing up ladder");
+        compendium(17133, 4.0, "Stair climbing, slow pace");
+        compendium(17134, 8.8, "Stair climbing, fast pace");
+        compendium(17140, 5.0, "Using crutches");
+        compendium(17150, 2.0, "Walking, household");
+        compendium(17151, 2.0, "Walking, less than 2.0 mph, level ground, strolling, very slow");
+        compendium(17152, 2.8, "Walking, 2.0 mph, level, slow pace, firm surface");
+        compendium(17160, 3.5, "Walking for pleasure");
+        compendium(17161, 2.5, "Walking from house to car or bus, to and from the worksite");
+        compendium(17162, 2.5, "Walking to neighbor's house or family's house for social reasons");
+        compendium(17165, 3.0, "Walking the dog");
+        compendium(17170, 3.0, "Walking, 2.5 mph, level, firm surface");
+        compendium(17180, 3.3, "Walking, 2.5 mph, downhill");
+        compendium(17190, 3.5, "Walking, 2.8 to 3.2 mph, level, moderate pace, firm surface");
+        compendium(17200, 4.3, "Walking, 3.5 mph, level, brisk, firm surface, walking for exercise");
+        compendium(17210, 5.3, "Walking, 2.9 to 3.5 mph, uphill, 1 to 5% grade");
+        compendium(17211, 8.0, "Walking, 2.9 to 3.5 mph, uphill, 6% to 15% grade");
+        compendium(17220, 5.0, "Walking, 4.0 mph, level, firm surface, very brisk pace");
+        compendium(17230, 7.0, "Walking, 4.5 mph, level, firm surface, very, very brisk");
+        compendium(17231, 8.3, "Walking, 5.0 mph, level, firm surface");
+        compendium(17235, 9.8, "Walking, 5.0 mph, uphill, 3% grade");
+        compendium(17250, 3.5, "Walking, for pleasure, work break");
+        compendium(17260, 4.8, "Walking, grass track");
+        compendium(17262, 4.5, "Walking, normal pace, plowed field or sand");
+        compendium(17270, 4.0, "Walking, to work or class");
+        compendium(17302, 4.8, "Nordic walking, 3.5 to 4 mph, level, moderate pace");
+        compendium(17305, 9.5, "Nordic walking, 5.0 mph, level, fast pace");
+        compendium(17310, 6.8, "Nordic walking, uphill");
+        compendium(17320, 6.0, "Walking, backwards, 3.5 mph, level");
+        compendium(17325, 8.0, "Walking, backwards, 3.5 mph, uphill, 5% grade");
+        
+        compendium(18010, 2.5, "Boating, power, driving");
+        compendium(18012, 1.3, "Boating, power, passenger, light");
+        compendium(18020, 4.0, "Canoeing, on camping trip");
+        compendium(18030, 7.0, "Canoeing, portaging");
+        compendium(18040, 2.8, "Canoeing, rowing, 2.0-3.9 mph, light effort");
+        compendium(18050, 5.8, "Canoeing, rowing, 4.0-5.9 mph, moderate effort");
+        compendium(18060, 12.5, "Canoeing, rowing, kayaking, competition, >6 mph, vigorous effort");
+        compendium(18070, 3.5, "Canoeing, rowing, for pleasure, general");
+        compendium(18080, 12.0, "Canoeing, rowing, in competition, or crew or sculling");
+        compendium(18090, 3.0, "Diving, springboard or platform");
+        compendium(18100, 5.0, "Kayaking, moderate effort");
+        compendium(18110, 4.0, "Paddle boat");
+        compendium(18120, 3.3, "Sailing, boat and board sailing, windsurfing, ice sailing, general");
+        compendium(18130, 4.5, "Sailing, in competition");
+        compendium(18140, 3.3, "Sailing, leisure, ocean sailing, yachting");
+        compendium(18150, 6.0, "Skiing, water or wakeboarding");
+        compendium(18160, 7.0, "Jet skiing, driving, in water");
+        compendium(18180, 15.8, "Skindiving, fast");
+        compendium(18190, 11.8, "Skindiving, moderate");
+        compendium(18200, 7.0, "Skindiving, scuba diving, general");
+        compendium(18210, 5.0, "Snorkeling");
+        compendium(18220, 3.0, "Surfing, body or board, general");
+        compendium(18222, 5.0, "Surfing, body or board, competitive");
+        compendium(18225, 6.0, "Paddle boarding, standing");
+        compendium(18230, 9.8, "Swimming laps, freestyle, fast, vigorous effort");
+        compendium(18240, 5.8, "Swimming laps, freestyle, front crawl, slow, light or moderate effort");
+        compendium(18250, 9.5, "Swimming, backstroke, general, training or competition");
+        compendium(18255, 4.8, "Swimming, backstroke, recreational");
+        compendium(18260, 10.3, "Swimming, breaststroke, general, training or competition");
+        compendium(18265, 5.3, "Swimming, breaststroke, recreational");
+        compendium(18270, 13.8, "Swimming, butterfly, general");
+        compendium(18280, 10.0, "Swimming, crawl, fast speed, ~75 yards/minute, vigorous effort");
+        compendium(18290, 8.3, "Swimming, crawl, medium speed, ~50 yards/minute, vigorous effort");
+        compendium(18300, 6.0, "Swimming, lake, ocean, river");
+        compendium(18310, 6.0, "Swimming, leisurely, not lap swimming, general");
+        compendium(18320, 7.0, "Swimming, sidestroke, general");
+        compendium(18330, 8.0, "Swimming, synchronized");
+        compendium(18340, 9.8, "Swimming, treading water, fast, vigorous effort");
+        compendium(18350, 3.5, "Swimming, treading water, moderate effort, general");
+        compendium(18352, 2.3, "Tubing, floating on a river, general");
+        compendium(18355, 5.5, "Water aerobics, water calisthenics");
+        compendium(18360, 10.0, "Water polo");
+        compendium(18365, 3.0, "Water volleyball");
+        compendium(18366, 9.8, "Water jogging");
+        compendium(18367, 2.5, "Water walking, light effort, slow pace");
+        compendium(18368, 4.5, "Water walking, moderate effort, moderate pace");
+        compendium(18369, 6.8, "Water walking, vigorous effort, brisk pace");
+        compendium(18370, 5.0, "Whitewater rafting, kayaking, or canoeing");
+        compendium(18380, 5.0, "Windsurfing, not pumping for speed");
+        compendium(18385, 11.0, "Windsurfing or kitesurfing, crossing trial");
+        compendium(18390, 13.5, "Windsurfing, competition, pumping for speed");
+        
+        compendium(19005, 7.5, "Dog sledding, mushing");
+        compendium(19006, 2.5, "Dog sledding, passenger");
+        compendium(19010, 6.0, "Moving ice house, set up/drill holes");
+        compendium(19011, 2.0, "Ice fishing, sitting");
+        compendium(19018, 14.0, "Skating, ice dancing");
+        compendium(19020, 5.5, "Skating, ice, 9 mph or less");
+        compendium(19030, 7.0, "Skating, ice, general");
+        compendium(19040, 9.0, "Skating, ice, rapidly, more than 9 mph, not competitive");
+        compendium(19050, 13.3, "Skating, speed, competitive");
+        compendium(19060, 7.0, "Ski jumping, climb up carrying skis");
+        compendium(19075, 7.0, "Skiing, general");
+        compendium(19080, 6.8, "Skiing, cross country, 2.5 mph, slow or light effort, ski walking");
+        compendium(19090, 9.0, "Skiing, cross country, 4.0-4.9 mph, moderate speed and effort");
+        compendium(19100, 12.5, "Skiing, cross country, 5.0-7.9 mph, brisk speed, vigorous effort");
+        compendium(19110, 15.0, "Skiing, cross country, >8.0 mph, elite skier, racing");
+        compendium(19130, 15.5, "Skiing, cross country, hard snow, uphill, maximum, snow mountaineering");
+        compendium(19135, 13.3, "Skiing, cross-country, skating");
+        compendium(19140, 13.5, "Skiing, cross-country, biathlon, skating technique");
+        compendium(19150, 4.3, "Skiing, downhill, alpine or snowboarding, light effort");
+        compendium(19160, 5.3, "Skiing, downhill, alpine or snowboarding, moderate effort, general");
+        compendium(19170, 8.0, "Skiing, downhill, vigorous effort, racing");
+        compendium(19175, 12.5, "Skiing, roller, elite racers");
+        compendium(19180, 7.0, "Sledding, tobogganing, bobsledding, luge");
+        compendium(19190, 5.3, "Snow shoeing, moderate effort");
+        compendium(19192, 10.0, "Snow shoeing, vigorous effort");
+        compendium(19200, 3.5, "Snowmobiling, driving, moderate");
+        compendium(19202, 2.0, "Snowmobiling, passenger");
+        
+        compendium(20000, 1.3, "Sitting in church, in service, attending a ceremony, sitting quietly");
+        compendium(20005, 1.8, "Sitting in church, talking or singing");
+        
+        compendium(21000, 1.5, "Sitting, meeting, general, and/or with talking involved");
+        compendium(21005, 1.5, "Sitting, light office work, in general");
+    }
+}
@@ -1,18 +1,40 @@
 package wellnessapp.models;
 
-import java.util.ArrayList;
-
+import java.util.Arrays;
 
 public class FitnessData extends ListTrackingData {
+    // Kinds of logged activity, telling which of the entry amounts are set
+    public static final int ENTRY_MANUAL = 0;
+    public static final int ENTRY_REPS = 1;
+    public static final int ENTRY_DURATION = 2;
+    public static final int ENTRY_RUN = 3;
+    
+    private static final MetCatalog MET_CATALOG = MetCatalog.getDefault();
+    
     private int steps;
     private int caloriesBurned;
     private String workoutType;
     private String sportType;
     private int targetSteps;
     private int targetCalories;
+    // Per entry: its kind, the MetCatalog id of a catalog activity, reps or minutes, and
+    // the distance and speed of a run
+    private int[] entryKinds;
+    private int[] entryActivities;
+    private double[] entryAmounts;
+    private double[] entryDistances;
+    private double[] entrySpeeds;
+    // The amounts as the user typed them, e.g. "020 reps", only for entries where they
+    // differ from the printed numbers; null until an entry needs one
+    private String[] entryAmountTexts;
     
     public FitnessData() {
         super(); 
+        this.entryKinds = new int[entryNames.length];
+        this.entryActivities = new int[entryNames.length];
+        this.entryAmounts = new double[entryNames.length];
+        this.entryDistances = new double[entryNames.length];
+        this.entrySpeeds = new double[entryNames.length];
         this.steps = 0;
         this.caloriesBurned = 0;
         this.workoutType = "";
@@ -45,10 +67,6 @@ public class FitnessData extends ListTrackingData {
         return targetCalories;
     }
     
-    public ArrayList<String> getActivities() {
-        return entries;
-    }
-    
     // Mutators
     public void setSteps(int steps) {
         this.steps = steps;
@@ -74,16 +92,128 @@ public class FitnessData extends ListTrackingData {
         this.targetCalories = targetCalories;
     }
     
+    /**
+     * Logs an activity the user named and entered the calories of.
+     */
     public void addActivity(String activity, double calories) {
-        addEntry(activity, (int) Math.round(calories));
+        appendActivity(customNameId(activity), ENTRY_MANUAL, 0, 0.0, 0.0, 0.0, calories);
+    }
+    
+    /**
+     * Logs reps of a workout, given by its MetCatalog id.
+     */
+    public void addWorkout(int activityId, int reps, double calories) {
+        appendActivity(catalogNameId(activityId), ENTRY_REPS, activityId, reps, 0.0, 0.0, calories);
+    }
+    
+    /**
+     * Logs minutes of a sport, given by its MetCatalog id.
+     */
+    public void addSport(int activityId, double minutes, double calories) {
+        appendActivity(catalogNameId(activityId), ENTRY_DURATION, activityId, minutes, 0.0, 0.0, calories);
+    }
+    
+    public void addRun(int activityId, double minutes, double distanceKm, double speedKmh, double calories) {
+        appendActivity(catalogNameId(activityId), ENTRY_RUN, activityId, minutes, distanceKm, speedKmh, calories);
     }
     
     @Override
     public void addEntry(String entry, int calories) {
-        String activityEntry = entry + " - " + String.format("%.2f", (double) calories) + " kcal";
-        this.entries.add(activityEntry);
-        this.totalCalories += calories;
-        this.caloriesBurned += calories;
+        addActivity(entry, calories);
+    }
+    
+    public int getEntryKind(int index) {
+        return entryKinds[checkIndex(index)];
+    }
+    
+    /**
+     * Returns the MetCatalog id of a catalog activity, or 0 for a manual entry.
+     */
+    public int getEntryActivity(int index) {
+        return entryActivities[checkIndex(index)];
+    }
+    
+    /**
+     * Returns the reps of a workout or the minutes of a sport or run.
+     */
+    public double getEntryAmount(int index) {
+        return entryAmounts[checkIndex(index)];
+    }
+    
+    public double getEntryDistance(int index) {
+        return entryDistances[checkIndex(index)];
+    }
+    
+    public double getEntrySpeed(int index) {
+        return entrySpeeds[checkIndex(index)];
+    }
+    
+    /**
+     * Keeps the amounts of a catalog entry as the user typed them, e.g. "20 reps" or
+     * "30 min, 5 km, 10 km/h", so the entry shows them as typed. Nothing is kept when
+     * they read the same as the stored numbers.
+     */
+    public void setEntryAmountText(int index, String text) {
+        checkIndex(index);
+        StringBuilder amounts = new StringBuilder();
+        appendAmounts(amounts, index);
+        if (text == null || text.contentEquals(amounts)) {
+            if (entryAmountTexts != null) {
+                entryAmountTexts[index] = null;
+            }
+            return;
+        }
+        if (entryAmountTexts == null || entryAmountTexts.length < entryNames.length) {
+            entryAmountTexts = entryAmountTexts == null
+                    ? new String[entryNames.length] : Arrays.copyOf(entryAmountTexts, entryNames.length);
+        }
+        entryAmountTexts[index] = text;
+    }
+    
+    /**
+     * Returns the amounts of an entry as typed, or null when they read as the numbers.
+     */
+    public String getEntryAmountText(int index) {
+        checkIndex(index);
+        return entryAmountTexts == null || index >= entryAmountTexts.length ? null : entryAmountTexts[index];
+    }
+    
+    /**
+     * Appends e.g. "Running (30 min, 5 km, 10 km/h) - 312.00 kcal", with the calories
+     * rounded as they count toward the totals.
+     */
+    @Override
+    public void formatEntry(int index, StringBuilder out) {
+        out.append(getEntryName(index));
+        if (entryKinds[index] != ENTRY_MANUAL) {
+            String typed = getEntryAmountText(index);
+            out.append(" (");
+            if (typed != null) {
+                out.append(typed);
+            } else {
+                appendAmounts(out, index);
+            }
+            out.append(')');
+        }
+        CalorieFormatter.appendFixed(out.append(" - "), getEntryCalories(index) * 100L, 2).append(" kcal");
+    }
+    
+    private void appendAmounts(StringBuilder out, int index) {
+        switch (entryKinds[index]) {
+            case ENTRY_REPS:
+                appendAmount(out, entryAmounts[index]).append(" reps");
+                break;
+            case ENTRY_DURATION:
+                appendAmount(out, entryAmounts[index]).append(" min");
+                break;
+            case ENTRY_RUN:
+                appendAmount(out, entryAmounts[index]).append(" min, ");
+                appendAmount(out, entryDistances[index]).append(" km, ");
+                appendAmount(out, entrySpeeds[index]).append(" km/h");
+                break;
+            default:
+                break;
+        }
     }
     
     public void removeActivity(int index) {
@@ -92,18 +222,68 @@ public class FitnessData extends ListTrackingData {
     
     @Override
     public void removeEntry(int index) {
-        if (index >= 0 && index < entries.size()) {
-            String activityEntry = entries.get(index);
-            int calories = parseCaloriesFromEntry(activityEntry);
-            this.totalCalories = Math.max(0, this.totalCalories - calories);
-            this.caloriesBurned = Math.max(0, this.caloriesBurned - calories);
-            entries.remove(index);
+        if (index >= 0 && index < entryCount) {
+            int moved = entryCount - index - 1;
+            System.arraycopy(entryKinds, index + 1, entryKinds, index, moved);
+            System.arraycopy(entryActivities, index + 1, entryActivities, index, moved);
+            System.arraycopy(entryAmounts, index + 1, entryAmounts, index, moved);
+            System.arraycopy(entryDistances, index + 1, entryDistances, index, moved);
+            System.arraycopy(entrySpeeds, index + 1, entrySpeeds, index, moved);
+            if (entryAmountTexts != null && index < entryAmountTexts.length) {
+                int typedMoved = Math.min(moved, entryAmountTexts.length - index - 1);
+                System.arraycopy(entryAmountTexts, index + 1, entryAmountTexts, index, typedMoved);
+                entryAmountTexts[index + typedMoved] = null;
+            }
+        }
+        int calories = removeEntryAt(index);
+        this.caloriesBurned = Math.max(0, this.caloriesBurned - calories);
+    }
+    
+    private void appendActivity(int nameId, int kind, int activityId, double amount, double distanceKm,
+                                double speedKmh, double calories) {
+        int rounded = (int) Math.round(calories);
+        appendEntry(nameId, rounded, calories);
+        this.caloriesBurned += rounded;
+        if (entryKinds.length < entryNames.length) {
+            int capacity = entryNames.length;
+            entryKinds = Arrays.copyOf(entryKinds, capacity);
+            entryActivities = Arrays.copyOf(entryActivities, capacity);
+            entryAmounts = Arrays.copyOf(entryAmounts, capacity);
+            entryDistances = Arrays.copyOf(entryDistances, capacity);
+            entrySpeeds = Arrays.copyOf(entrySpeeds, capacity);
+        }
+        int index = entryCount - 1;
+        entryKinds[index] = kind;
+        entryActivities[index] = activityId;
+        entryAmounts[index] = amount;
+        entryDistances[index] = distanceKm;
+        entrySpeeds[index] = speedKmh;
+        if (entryAmountTexts != null && index < entryAmountTexts.length) {
+            entryAmountTexts[index] = null;
+        }
+    }
+    
+    // Catalog names are bounded by the catalog, so they go into the shared dictionary
+    private int catalogNameId(int activityId) {
+        int index = MET_CATALOG.indexOf(activityId);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown activity id " + activityId);
+        }
+        return NameDictionary.intern(MET_CATALOG.getName(index));
+    }
+    
+    // Whole amounts are written without a fraction, e.g. 30 rather than 30.0
+    private static StringBuilder appendAmount(StringBuilder out, double amount) {
+        if (amount == Math.rint(amount) && Math.abs(amount) < 1e15) {
+            return out.append((long) amount);
         }
+        return out.append(amount);
     }
     
     @Override
     public void reset() {
         super.reset();
+        this.entryAmountTexts = null;
         this.steps = 0;
         this.caloriesBurned = 0;
         this.workoutType = "";
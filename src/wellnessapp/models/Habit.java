@@ -5,10 +5,12 @@ import java.io.Serializable;
 public class Habit implements Serializable, Comparable<Habit> {
     private String name;
     private boolean completed;
+    private HabitHistory history;
     
     public Habit(String name) {
         this.name = name;
         this.completed = false;
+        this.history = new HabitHistory();
     }
     
     public String getName() {
@@ -19,16 +21,28 @@ public class Habit implements Serializable, Comparable<Habit> {
         return completed;
     }
     
-    public void setName(String name) {
-        this.name = name;
+    public HabitHistory getHistory() {
+        if (history == null) {
+            history = new HabitHistory();
+        }
+        return history;
     }
     
-    public void setCompleted(boolean completed) {
-        this.completed = completed;
+    /**
+     * Returns the run of completed days up to today, counting today only once it is
+     * completed or recorded, so an open day does not break the streak.
+     */
+    public int getCurrentStreak(long today) {
+        HabitHistory days = getHistory();
+        if (completed) {
+            return 1 + days.getCurrentStreak(today - 1);
+        }
+        return days.getCurrentStreak(days.isCompleted(today) ? today : today - 1);
     }
     
-    public void toggle() {
-        this.completed = !this.completed;
+    // Changed only through HabitTracker, which counts completions
+    void setCompleted(boolean completed) {
+        this.completed = completed;
     }
     
     @Override
@@ -0,0 +1,229 @@
+package wellnessapp.models;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Completion history of one habit with one bit per day, kept as a bitset per calendar
+ * year. Days are epoch days. Counts, streaks and rates are computed 64 days at a time
+ * with bit operations instead of looking at each day on its own.
+ */
+public class HabitHistory implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    public static final int WORDS_PER_YEAR = 6;
+    private static final long ALL_DAYS = -1L;
+    private static final long EPOCH_OFFSET = daysBeforeYear(1970);
+    
+    private int firstYear;
+    // Bitset of years[i] belongs to firstYear + i; null when nothing was recorded that year
+    private long[][] years;
+    
+    public HabitHistory() {
+        this.firstYear = 0;
+        this.years = new long[0][];
+    }
+    
+    public void set(long epochDay, boolean completed) {
+        int year = yearOf(epochDay);
+        int offset = (int) (epochDay - yearStart(year));
+        long[] words = wordsFor(year, completed);
+        if (words == null) {
+            return;
+        }
+        if (completed) {
+            words[offset >>> 6] |= 1L << offset;
+        } else {
+            words[offset >>> 6] &= ~(1L << offset);
+        }
+    }
+    
+    public boolean isCompleted(long epochDay) {
+        int year = yearOf(epochDay);
+        long[] words = getYearWords(year);
+        int offset = (int) (epochDay - yearStart(year));
+        return words != null && (words[offset >>> 6] & (1L << offset)) != 0;
+    }
+    
+    /**
+     * Counts the completed days from fromDay to toDay inclusive.
+     */
+    public int countCompleted(long fromDay, long toDay) {
+        long from = Math.max(fromDay, firstStoredDay());
+        long to = Math.min(toDay, lastStoredDay());
+        int count = 0;
+        for (long start = from; start <= to; start += 64) {
+            int days = (int) Math.min(64, to - start + 1);
+            count += Long.bitCount(window(start) & mask(days));
+        }
+        return count;
+    }
+    
+    /**
+     * Returns the share of days from fromDay to toDay inclusive that were completed,
+     * between 0 and 1.
+     */
+    public double getCompletionRate(long fromDay, long toDay) {
+        if (toDay < fromDay) {
+            return 0.0;
+        }
+        return (double) countCompleted(fromDay, toDay) / (toDay - fromDay + 1);
+    }
+    
+    /**
+     * Returns the number of consecutive completed days ending at the given day.
+     */
+    public int getCurrentStreak(long epochDay) {
+        long first = firstStoredDay();
+        int streak = 0;
+        for (long end = epochDay; end >= first; end -= 64) {
+            int run = Long.numberOfLeadingZeros(~window(end - 63));
+            streak += run;
+            if (run < 64) {
+                break;
+            }
+        }
+        return streak;
+    }
+    
+    /**
+     * Returns the longest run of consecutive completed days between fromDay and toDay
+     * inclusive.
+     */
+    public int getLongestStreak(long fromDay, long toDay) {
+        long from = Math.max(fromDay, firstStoredDay());
+        long to = Math.min(toDay, lastStoredDay());
+        int best = 0;
+        int run = 0;
+        for (long start = from; start <= to; start += 64) {
+            int days = (int) Math.min(64, to - start + 1);
+            long bits = window(start) & mask(days);
+            if (bits == ALL_DAYS) {
+                run += 64;
+                continue;
+            }
+            // The run carried in from earlier days ends at the first missed day
+            run += Long.numberOfTrailingZeros(~bits);
+            best = Math.max(best, Math.max(run, longestRunWithin(bits)));
+            // A run reaching the last day of this window carries into the next one
+            run = Long.numberOfLeadingZeros(~(bits << (64 - days)));
+        }
+        return Math.max(best, run);
+    }
+    
+    public int getFirstYear() {
+        return firstYear;
+    }
+    
+    public int getYearSpan() {
+        return years.length;
+    }
+    
+    /**
+     * Returns the bitset of a year, bit n standing for day n of the year counted from 0,
+     * or null if nothing was recorded that year. The array is the live bitset.
+     */
+    public long[] getYearWords(int year) {
+        int index = year - firstYear;
+        return index < 0 || index >= years.length ? null : years[index];
+    }
+    
+    public void setYearWords(int year, long[] words) {
+        if (words.length != WORDS_PER_YEAR) {
+            throw new IllegalArgumentException("Expected " + WORDS_PER_YEAR + " words, got " + words.length);
+        }
+        System.arraycopy(words, 0, wordsFor(year, true), 0, WORDS_PER_YEAR);
+    }
+    
+    public void clear() {
+        years = new long[0][];
+    }
+    
+    private long[] wordsFor(int year, boolean create) {
+        long[] words = getYearWords(year);
+        if (words != null || !create) {
+            return words;
+        }
+        if (years.length == 0) {
+            firstYear = year;
+            years = new long[1][];
+        } else if (year < firstYear) {
+            long[][] grown = new long[years.length + (firstYear - year)][];
+            System.arraycopy(years, 0, grown, firstYear - year, years.length);
+            years = grown;
+            firstYear = year;
+        } else if (year >= firstYear + years.length) {
+            years = Arrays.copyOf(years, year - firstYear + 1);
+        }
+        words = new long[WORDS_PER_YEAR];
+        years[year - firstYear] = words;
+        return words;
+    }
+    
+    private long firstStoredDay() {
+        return years.length == 0 ? Long.MAX_VALUE : yearStart(firstYear);
+    }
+    
+    private long lastStoredDay() {
+        return years.length == 0 ? Long.MIN_VALUE : yearStart(firstYear + years.length) - 1;
+    }
+    
+    // Bit n of the result is the day start + n; days that cross into another year are joined up
+    private long window(long start) {
+        long bits = 0;
+        int filled = 0;
+        while (filled < 64) {
+            long day = start + filled;
+            int year = yearOf(day);
+            long yearStart = yearStart(year);
+            int offset = (int) (day - yearStart);
+            int days = (int) Math.min(64 - filled, yearStart(year + 1) - day);
+            long[] words = getYearWords(year);
+            if (words != null) {
+                int index = offset >>> 6;
+                int shift = offset & 63;
+                long piece = words[index] >>> shift;
+                if (shift != 0 && index + 1 < WORDS_PER_YEAR) {
+                    piece |= words[index + 1] << (64 - shift);
+                }
+                bits |= (piece & mask(days)) << filled;
+            }
+            filled += days;
+        }
+        return bits;
+    }
+    
+    private static long mask(int days) {
+        return days >= 64 ? ALL_DAYS : (1L << days) - 1;
+    }
+    
+    // Each pass shortens every run of set bits by one
+    private static int longestRunWithin(long bits) {
+        int length = 0;
+        while (bits != 0) {
+            bits &= bits << 1;
+            length++;
+        }
+        return length;
+    }
+    
+    private static long daysBeforeYear(long year) {
+        long previous = year - 1;
+        return 365 * year + Math.floorDiv(previous, 4) - Math.floorDiv(previous, 100) + Math.floorDiv(previous, 400);
+    }
+    
+    static long yearStart(int year) {
+        return daysBeforeYear(year) - EPOCH_OFFSET;
+    }
+    
+    static int yearOf(long epochDay) {
+        int year = (int) (1970 + Math.floorDiv(epochDay * 400, 146097));
+        while (yearStart(year) > epochDay) {
+            year--;
+        }
+        while (yearStart(year + 1) <= epochDay) {
+            year++;
+        }
+        return year;
+    }
+}
@@ -2,57 +2,209 @@ package wellnessapp.models;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 
+/**
+ * Habits are kept in slots found through a name index, with one completion bit per slot
+ * and a running count of completed habits, so adding, toggling, removing and counting
+ * do not scan the list. Slots are linked in the order the habits were added, and freed
+ * slots are reused. Habit names are unique.
+ */
 public class HabitTracker implements Serializable {
-    private ArrayList<Habit> habits;
+    private static final int INITIAL_SLOTS = 8;
+    private static final int NONE = -1;
+    
+    private final HashMap<String, Integer> slotByName;
+    private Habit[] slots;
+    private int[] nextSlot;
+    private int[] previousSlot;
+    private long[] completedBits;
+    private int firstSlot;
+    private int lastSlot;
+    private int freeSlot;
+    private int habitCount;
+    private int completedCount;
+    // Habits in order, rebuilt after the set of habits changes
+    private transient List<Habit> orderedView;
     
     public HabitTracker() {
-        this.habits = new ArrayList<Habit>();
+        this.slotByName = new HashMap<String, Integer>();
+        this.slots = new Habit[INITIAL_SLOTS];
+        this.nextSlot = new int[INITIAL_SLOTS];
+        this.previousSlot = new int[INITIAL_SLOTS];
+        this.completedBits = new long[1];
+        this.firstSlot = NONE;
+        this.lastSlot = NONE;
+        this.freeSlot = NONE;
+        this.habitCount = 0;
+        this.completedCount = 0;
+    }
+    
+    /**
+     * Adds a habit at the end of the list. Returns false, leaving the tracker unchanged,
+     * if a habit with the same name already exists.
+     */
+    public boolean addHabit(String name) {
+        return addHabit(name, false);
     }
     
-    public void addHabit(String name) {
-        habits.add(new Habit(name));
+    public boolean addHabit(String name, boolean completed) {
+        if (slotByName.containsKey(name)) {
+            return false;
+        }
+        int slot = allocateSlot();
+        slots[slot] = new Habit(name);
+        slotByName.put(name, slot);
+        nextSlot[slot] = NONE;
+        previousSlot[slot] = lastSlot;
+        if (lastSlot == NONE) {
+            firstSlot = slot;
+        } else {
+            nextSlot[lastSlot] = slot;
+        }
+        lastSlot = slot;
+        habitCount++;
+        orderedView = null;
+        if (completed) {
+            setSlotCompleted(slot, true);
+        }
+        return true;
     }
     
     public void removeHabit(String name) {
-        Iterator<Habit> iterator = habits.iterator();
-        while (iterator.hasNext()) {
-            Habit habit = iterator.next();
-            if (habit.getName().equals(name)) {
-                iterator.remove();
-                break;
-            }
+        Integer slot = slotByName.remove(name);
+        if (slot == null) {
+            return;
+        }
+        int s = slot;
+        setSlotCompleted(s, false);
+        if (previousSlot[s] == NONE) {
+            firstSlot = nextSlot[s];
+        } else {
+            nextSlot[previousSlot[s]] = nextSlot[s];
         }
+        if (nextSlot[s] == NONE) {
+            lastSlot = previousSlot[s];
+        } else {
+            previousSlot[nextSlot[s]] = previousSlot[s];
+        }
+        slots[s] = null;
+        nextSlot[s] = freeSlot;
+        freeSlot = s;
+        habitCount--;
+        orderedView = null;
     }
     
     public void toggleHabit(String name) {
-        for (Habit habit : habits) {
-            if (habit.getName().equals(name)) {
-                habit.toggle();
-                break;
+        Integer slot = slotByName.get(name);
+        if (slot != null) {
+            setSlotCompleted(slot, !isSlotCompleted(slot));
+        }
+    }
+    
+    public Habit getHabit(String name) {
+        Integer slot = slotByName.get(name);
+        return slot == null ? null : slots[slot];
+    }
+    
+    public boolean containsHabit(String name) {
+        return slotByName.containsKey(name);
+    }
+    
+    public boolean isCompleted(String name) {
+        Integer slot = slotByName.get(name);
+        return slot != null && isSlotCompleted(slot);
+    }
+    
+    /**
+     * Returns the habits in the order they were added. The list cannot be modified;
+     * use addHabit and removeHabit instead.
+     */
+    public List<Habit> getHabits() {
+        if (orderedView == null) {
+            ArrayList<Habit> habits = new ArrayList<Habit>(habitCount);
+            for (int slot = firstSlot; slot != NONE; slot = nextSlot[slot]) {
+                habits.add(slots[slot]);
             }
+            orderedView = Collections.unmodifiableList(habits);
         }
+        return orderedView;
     }
     
-    public ArrayList<Habit> getHabits() {
-        return habits;
+    public int getHabitCount() {
+        return habitCount;
     }
     
-    public void reset() {
-        for (Habit habit : habits) {
-            habit.setCompleted(false);
+    /**
+     * Marks the habits completed today as completed on the given day in their histories.
+     * Completions already recorded for that day are kept, so a second new day started on
+     * the same date adds to the first instead of clearing it.
+     */
+    public void recordDay(long epochDay) {
+        for (int slot = firstSlot; slot != NONE; slot = nextSlot[slot]) {
+            if (isSlotCompleted(slot)) {
+                slots[slot].getHistory().set(epochDay, true);
+            }
         }
     }
     
-    public int getCompletedCount() {
+    /**
+     * Counts the habits whose history marks the given day as completed.
+     */
+    public int getCompletedCount(long epochDay) {
         int count = 0;
-        for (Habit habit : habits) {
-            if (habit.isCompleted()) {
+        for (int slot = firstSlot; slot != NONE; slot = nextSlot[slot]) {
+            if (slots[slot].getHistory().isCompleted(epochDay)) {
                 count++;
             }
         }
         return count;
     }
+    
+    public void reset() {
+        for (int slot = firstSlot; slot != NONE; slot = nextSlot[slot]) {
+            slots[slot].setCompleted(false);
+        }
+        Arrays.fill(completedBits, 0L);
+        completedCount = 0;
+    }
+    
+    public int getCompletedCount() {
+        return completedCount;
+    }
+    
+    private boolean isSlotCompleted(int slot) {
+        return (completedBits[slot >>> 6] & (1L << slot)) != 0;
+    }
+    
+    private void setSlotCompleted(int slot, boolean completed) {
+        if (isSlotCompleted(slot) == completed) {
+            return;
+        }
+        completedBits[slot >>> 6] ^= 1L << slot;
+        completedCount += completed ? 1 : -1;
+        slots[slot].setCompleted(completed);
+    }
+    
+    private int allocateSlot() {
+        if (freeSlot != NONE) {
+            int slot = freeSlot;
+            freeSlot = nextSlot[slot];
+            return slot;
+        }
+        int slot = habitCount;
+        if (slot == slots.length) {
+            int capacity = slot * 2;
+            slots = Arrays.copyOf(slots, capacity);
+            nextSlot = Arrays.copyOf(nextSlot, capacity);
+            previousSlot = Arrays.copyOf(previousSlot, capacity);
+        }
+        if ((slot >>> 6) >= completedBits.length) {
+            completedBits = Arrays.copyOf(completedBits, completedBits.length * 2);
+        }
+        return slot;
+    }
 }
-
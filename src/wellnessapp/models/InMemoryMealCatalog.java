@@ -0,0 +1,61 @@
+package wellnessapp.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Meal catalog held entirely on the heap, used for the built-in items.
+ */
+public class InMemoryMealCatalog implements MealCatalog {
+    private final LinkedHashMap<String, Map<String, MealItem>> categories;
+    private final MealItem[] items;
+    private final String[] itemCategories;
+    
+    public InMemoryMealCatalog(Map<String, ? extends Map<String, MealItem>> catalog) {
+        this.categories = new LinkedHashMap<String, Map<String, MealItem>>();
+        ArrayList<MealItem> itemList = new ArrayList<MealItem>();
+        ArrayList<String> categoryList = new ArrayList<String>();
+        for (Map.Entry<String, ? extends Map<String, MealItem>> category : catalog.entrySet()) {
+            categories.put(category.getKey(), category.getValue());
+            for (MealItem item : category.getValue().values()) {
+                itemList.add(item);
+                categoryList.add(category.getKey());
+            }
+        }
+        this.items = itemList.toArray(new MealItem[0]);
+        this.itemCategories = categoryList.toArray(new String[0]);
+    }
+    
+    @Override
+    public int size() {
+        return items.length;
+    }
+    
+    @Override
+    public List<String> getCategories() {
+        return Collections.unmodifiableList(new ArrayList<String>(categories.keySet()));
+    }
+    
+    @Override
+    public Map<String, MealItem> getItems(String category) {
+        return categories.get(category);
+    }
+    
+    @Override
+    public MealItem getItem(int id) {
+        return items[id];
+    }
+    
+    @Override
+    public String getItemName(int id) {
+        return items[id].getName();
+    }
+    
+    @Override
+    public String getItemCategory(int id) {
+        return itemCategories[id];
+    }
+}
@@ -1,47 +1,140 @@
 package wellnessapp.models;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 public abstract class ListTrackingData extends TrackingData {
-    protected ArrayList<String> entries;
+    // Entry log kept as parallel arrays; display strings are only built by formatEntry()
+    // A name is a NameDictionary id for catalog names, or -1 - i for customNames[i]
+    protected int[] entryNames;
+    protected int[] entryCalories;
+    protected double[] entryExactCalories;
+    protected int entryCount;
     protected int totalCalories; 
+    // Names typed in by the user, kept with this log only so they are freed along with it
+    private String[] customNames;
+    private int customNameCount;
     public ListTrackingData() {
-        this.entries = new ArrayList<>();
+        this.entryNames = new int[8];
+        this.entryCalories = new int[8];
+        this.entryExactCalories = new double[8];
+        this.entryCount = 0;
         this.totalCalories = 0;
+        this.customNames = new String[4];
+        this.customNameCount = 0;
     }
 
-    public ArrayList<String> getEntries() {
-        return entries;
+    public int getEntryCount() {
+        return entryCount;
     }
+
+    public String getEntryName(int index) {
+        int name = entryNames[checkIndex(index)];
+        return name >= 0 ? NameDictionary.nameOf(name) : customNames[-1 - name];
+    }
+
+    /**
+     * Returns whether the entry's name is a catalog name shared through NameDictionary
+     * rather than one typed in by the user.
+     */
+    public boolean isCatalogEntry(int index) {
+        return entryNames[checkIndex(index)] >= 0;
+    }
+
+    public int getEntryCalories(int index) {
+        return entryCalories[checkIndex(index)];
+    }
+
+    public double getEntryExactCalories(int index) {
+        return entryExactCalories[checkIndex(index)];
+    }
+
+    public String formatEntry(int index) {
+        StringBuilder text = CalorieFormatter.pooledBuilder();
+        formatEntry(index, text);
+        return text.toString();
+    }
+
+    public abstract void formatEntry(int index, StringBuilder out);
     
     public abstract void addEntry(String entry, int calories);
 
     public abstract void removeEntry(int index);
 
-    protected int parseCaloriesFromEntry(String entry) {
-        try {
-            int kcalIndex = entry.lastIndexOf(" - ");
-            if (kcalIndex > 0) {
-                String caloriesStr = entry.substring(kcalIndex + 3).replace(" kcal", "").trim();
-                if (caloriesStr.contains(".")) {
-                    double calories = Double.parseDouble(caloriesStr);
-                    return (int) Math.round(calories);
-                } else {
-                    return Integer.parseInt(caloriesStr);
-                }
+    protected void appendEntry(String name, int calories, double exactCalories) {
+        appendEntry(customNameId(name), calories, exactCalories);
+    }
+
+    /**
+     * Returns the entry name id of a name typed in by the user, adding it to this log's
+     * own names if it is not there yet.
+     */
+    protected int customNameId(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name must not be null");
+        }
+        for (int i = 0; i < customNameCount; i++) {
+            if (customNames[i].equals(name)) {
+                return -1 - i;
             }
-        } catch (Exception e) {
         }
-        return 0;
+        if (customNameCount == customNames.length) {
+            customNames = Arrays.copyOf(customNames, customNameCount * 2);
+        }
+        customNames[customNameCount] = name;
+        return -1 - customNameCount++;
+    }
+
+    protected void appendEntry(int nameId, int calories, double exactCalories) {
+        if (entryCount == entryNames.length) {
+            int capacity = entryCount * 2;
+            entryNames = Arrays.copyOf(entryNames, capacity);
+            entryCalories = Arrays.copyOf(entryCalories, capacity);
+            entryExactCalories = Arrays.copyOf(entryExactCalories, capacity);
+        }
+        entryNames[entryCount] = nameId;
+        entryCalories[entryCount] = calories;
+        entryExactCalories[entryCount] = exactCalories;
+        entryCount++;
+        totalCalories += calories;
+    }
+
+    /**
+     * Removes an entry and returns the calories it contributed, or 0 if the index is out of range.
+     */
+    protected int removeEntryAt(int index) {
+        if (index < 0 || index >= entryCount) {
+            return 0;
+        }
+        int calories = entryCalories[index];
+        int moved = entryCount - index - 1;
+        System.arraycopy(entryNames, index + 1, entryNames, index, moved);
+        System.arraycopy(entryCalories, index + 1, entryCalories, index, moved);
+        System.arraycopy(entryExactCalories, index + 1, entryExactCalories, index, moved);
+        entryCount--;
+        totalCalories = Math.max(0, totalCalories - calories);
+        return calories;
     }
+
+    protected int checkIndex(int index) {
+        if (index < 0 || index >= entryCount) {
+            throw new IndexOutOfBoundsException("Entry " + index + " of " + entryCount);
+        }
+        return index;
+    }
+
     public int getTotalCalories() {
         return totalCalories;
     }
 
+    public void setTotalCalories(int totalCalories) {
+        this.totalCalories = totalCalories;
+    }
+
     @Override
     public void reset() {
-        entries.clear();
+        entryCount = 0;
         totalCalories = 0;
+        Arrays.fill(customNames, 0, customNameCount, null);
+        customNameCount = 0;
     }
 }
-
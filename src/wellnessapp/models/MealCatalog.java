@@ -0,0 +1,26 @@
+package wellnessapp.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of the food items offered in the meal panel. Items are numbered from 0 to
+ * size() - 1, and the items of a category have consecutive ids.
+ */
+public interface MealCatalog {
+    int size();
+    
+    List<String> getCategories();
+    
+    /**
+     * Returns the items of a category keyed by item name, or null for an unknown
+     * category. The map may decode items only when they are looked up.
+     */
+    Map<String, MealItem> getItems(String category);
+    
+    MealItem getItem(int id);
+    
+    String getItemName(int id);
+    
+    String getItemCategory(int id);
+}
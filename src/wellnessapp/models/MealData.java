@@ -1,25 +1,24 @@
 package wellnessapp.models;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 public class MealData extends ListTrackingData {
     private int waterIntake; 
     private int caloriesEaten;
     private int targetWater; 
     private int targetCalories;
+    // Nutrients of the logged meals, one column per nutrient so a total is one pass over an array
+    private double[][] entryNutrients;
     
     public MealData() {
         super();
+        this.entryNutrients = new double[Nutrients.COUNT][entryNames.length];
         this.waterIntake = 0;
         this.caloriesEaten = 0;
         this.targetWater = 2000; 
         this.targetCalories = 2000;
     }
     
-    public ArrayList<String> getMeals() {
-        return entries; 
-    }
-    
     public int getWaterIntake() {
         return waterIntake;
     }
@@ -40,12 +39,93 @@ public class MealData extends ListTrackingData {
         addEntry(meal, calories);
     }
     
+    public void addMeal(MealItem item) {
+        addMeal(item.getEntryNameId(), item.getCalories(), item.nutrientVector());
+    }
+    
+    /**
+     * Logs a meal under a catalog entry name, such as "Poha (1 plate)", sharing the
+     * name through NameDictionary as addMeal(MealItem) does.
+     */
+    public void addCatalogMeal(String entryName, int calories) {
+        addMeal(NameDictionary.intern(entryName), calories, null);
+    }
+    
+    // The nutrient vector is indexed by the Nutrients constants; null logs no nutrients
+    private void addMeal(int mealId, int calories, double[] nutrients) {
+        appendEntry(mealId, calories, calories);
+        this.caloriesEaten += calories;
+        setEntryNutrients(entryCount - 1, nutrients);
+    }
+    
     @Override
     public void addEntry(String entry, int calories) {
-        String mealEntry = entry + " - " + calories + " kcal";
-        this.entries.add(mealEntry);
-        this.totalCalories += calories;
+        appendEntry(entry, calories, calories);
         this.caloriesEaten += calories;
+        setEntryNutrients(entryCount - 1, null);
+    }
+    
+    public double getEntryNutrient(int index, int nutrient) {
+        if (index < 0 || index >= entryCount) {
+            throw new IndexOutOfBoundsException("Entry " + index + " of " + entryCount);
+        }
+        return entryNutrients[nutrient][index];
+    }
+    
+    public boolean hasEntryNutrients(int index) {
+        for (int n = 0; n < Nutrients.COUNT; n++) {
+            if (getEntryNutrient(index, n) != 0.0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public void setEntryNutrients(int index, double[] nutrients) {
+        if (index < 0 || index >= entryCount) {
+            throw new IndexOutOfBoundsException("Entry " + index + " of " + entryCount);
+        }
+        if (entryNutrients[0].length < entryNames.length) {
+            for (int n = 0; n < Nutrients.COUNT; n++) {
+                entryNutrients[n] = Arrays.copyOf(entryNutrients[n], entryNames.length);
+            }
+        }
+        for (int n = 0; n < Nutrients.COUNT; n++) {
+            entryNutrients[n][index] = nutrients == null ? 0.0 : nutrients[n];
+        }
+    }
+    
+    /**
+     * Returns the day's total of one nutrient over every logged meal.
+     */
+    public double getNutrientTotal(int nutrient) {
+        double[] column = entryNutrients[nutrient];
+        double total = 0.0;
+        for (int i = 0; i < entryCount; i++) {
+            total += column[i];
+        }
+        return total;
+    }
+    
+    public double[] getNutrientTotals() {
+        double[] totals = new double[Nutrients.COUNT];
+        addNutrientTotals(totals);
+        return totals;
+    }
+    
+    /**
+     * Adds the day's nutrient totals to the given vector, so totals over several days can
+     * be summed without allocating.
+     */
+    public void addNutrientTotals(double[] totals) {
+        for (int n = 0; n < Nutrients.COUNT; n++) {
+            totals[n] += getNutrientTotal(n);
+        }
+    }
+    
+    @Override
+    public void formatEntry(int index, StringBuilder out) {
+        CalorieFormatter.appendEntry(out, getEntryName(index), getEntryCalories(index), 0);
     }
     
     public void removeMeal(int index) {
@@ -54,13 +134,18 @@ public class MealData extends ListTrackingData {
     
     @Override
     public void removeEntry(int index) {
-        if (index >= 0 && index < entries.size()) {
-            String mealEntry = entries.get(index);
-            int calories = parseCaloriesFromEntry(mealEntry);
-            this.totalCalories = Math.max(0, this.totalCalories - calories);
-            this.caloriesEaten = Math.max(0, this.caloriesEaten - calories);
-            entries.remove(index);
+        if (index >= 0 && index < entryCount) {
+            int moved = entryCount - index - 1;
+            for (int n = 0; n < Nutrients.COUNT; n++) {
+                System.arraycopy(entryNutrients[n], index + 1, entryNutrients[n], index, moved);
+            }
         }
+        int calories = removeEntryAt(index);
+        this.caloriesEaten = Math.max(0, this.caloriesEaten - calories);
+    }
+    
+    public void setCaloriesEaten(int caloriesEaten) {
+        this.caloriesEaten = caloriesEaten;
     }
     
     public void setWaterIntake(int waterIntake) {
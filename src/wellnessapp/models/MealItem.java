@@ -1,16 +1,42 @@
 package wellnessapp.models;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 public class MealItem implements Serializable {
     private String name;
     private String servingSize;
     private int calories;
+    private double[] nutrients;
+    // Id of the entry name in the shared NameDictionary, interned when the item is
+    // first logged so browsing a catalog adds nothing to the dictionary
+    private transient int entryNameId = -1;
     
     public MealItem(String name, String servingSize, int calories) {
+        this(name, servingSize, calories, null);
+    }
+    
+    /**
+     * Creates an item with a nutrient vector indexed by the Nutrients constants; null
+     * means the nutrients are not known.
+     */
+    public MealItem(String name, String servingSize, int calories, double[] nutrients) {
         this.name = name;
         this.servingSize = servingSize;
         this.calories = calories;
+        this.nutrients = new double[Nutrients.COUNT];
+        if (nutrients != null) {
+            System.arraycopy(nutrients, 0, this.nutrients, 0, Nutrients.COUNT);
+        }
+    }
+    
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (nutrients == null) {
+            nutrients = new double[Nutrients.COUNT];
+        }
+        entryNameId = -1;
     }
     
     public String getName() {
@@ -25,6 +51,34 @@ public class MealItem implements Serializable {
         return calories;
     }
     
+    public double getNutrient(int nutrient) {
+        return nutrients[nutrient];
+    }
+    
+    public double[] getNutrients() {
+        return nutrients.clone();
+    }
+    
+    // Shared with MealData so logging an item does not copy its vector twice
+    double[] nutrientVector() {
+        return nutrients;
+    }
+    
+    /**
+     * Name logged for this item in a meal entry, e.g. "Poha (1 plate)".
+     */
+    public String getEntryName() {
+        return name + " (" + servingSize + ")";
+    }
+    
+    public int getEntryNameId() {
+        // Interning is idempotent, so racing callers store the same id
+        if (entryNameId < 0) {
+            entryNameId = NameDictionary.intern(getEntryName());
+        }
+        return entryNameId;
+    }
+    
     @Override
     public String toString() {
         return name + " (" + servingSize + ") - " + calories + " kcal";
@@ -0,0 +1,404 @@
+package wellnessapp.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Type-ahead search over the meal catalog. Every word of every item name is stored in a
+ * prefix trie, and every name is broken into trigrams for fuzzy matches, so a query
+ * only touches the items it can match. Results are ranked with exact names first,
+ * then name prefixes, then word prefixes, then by trigram similarity.
+ * A query allocates in proportion to the items it matches, not to the catalog size,
+ * and every match is ranked before the best ones are kept.
+ */
+public class MealSearchIndex {
+    private static final int SCORE_EXACT = 1000;
+    private static final int SCORE_NAME_PREFIX = 800;
+    private static final int SCORE_WORD_PREFIX = 600;
+    private static final int SCORE_FUZZY = 400;
+    // Share of trigrams an item must have in common with the query to count as a fuzzy match
+    private static final double MIN_SIMILARITY = 0.35;
+    private static final int[] NO_ITEMS = new int[0];
+    
+    public static class Result {
+        private final MealItem item;
+        private final String category;
+        private final int score;
+        
+        Result(MealItem item, String category, int score) {
+            this.item = item;
+            this.category = category;
+            this.score = score;
+        }
+        
+        public MealItem getItem() {
+            return item;
+        }
+        
+        public String getCategory() {
+            return category;
+        }
+        
+        public int getScore() {
+            return score;
+        }
+        
+        @Override
+        public String toString() {
+            return item + " [" + category + "]";
+        }
+    }
+    
+    private static class TrieNode {
+        char[] labels = new char[0];
+        TrieNode[] children = new TrieNode[0];
+        // Items having a word that ends at this node
+        int[] items = NO_ITEMS;
+        int itemCount;
+        // Item entries at and below this node, with repeats
+        int entriesBelow;
+        
+        TrieNode child(char label) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+        
+        TrieNode addChild(char label) {
+            TrieNode node = child(label);
+            if (node == null) {
+                node = new TrieNode();
+                labels = Arrays.copyOf(labels, labels.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                labels[labels.length - 1] = label;
+                children[children.length - 1] = node;
+            }
+            return node;
+        }
+        
+        void addItem(int item) {
+            if (itemCount > 0 && items[itemCount - 1] == item) {
+                return;
+            }
+            if (itemCount == items.length) {
+                items = Arrays.copyOf(items, Math.max(4, itemCount * 2));
+            }
+            items[itemCount++] = item;
+        }
+        
+        int countEntries() {
+            entriesBelow = itemCount;
+            for (TrieNode child : children) {
+                entriesBelow += child.countEntries();
+            }
+            return entriesBelow;
+        }
+    }
+    
+    private static class Candidate {
+        final int id;
+        final int score;
+        final String name;
+        
+        Candidate(int id, int score, String name) {
+            this.id = id;
+            this.score = score;
+            this.name = name;
+        }
+    }
+    
+    // Best match first: by score, then shorter names, then by name
+    private static final Comparator<Candidate> RANKING = new Comparator<Candidate>() {
+        @Override
+        public int compare(Candidate a, Candidate b) {
+            if (a.score != b.score) {
+                return b.score - a.score;
+            }
+            if (a.name.length() != b.name.length()) {
+                return a.name.length() - b.name.length();
+            }
+            int byName = a.name.compareTo(b.name);
+            return byName != 0 ? byName : a.id - b.id;
+        }
+    };
+    
+    private final MealCatalog catalog;
+    private final int itemCount;
+    private final int[] trigramCounts;
+    private final TrieNode root;
+    // Sorted distinct trigrams; the items of trigramKeys[k] are postingItems from
+    // postingStarts[k] to postingStarts[k + 1], in ascending order
+    private final int[] trigramKeys;
+    private final int[] postingStarts;
+    private final int[] postingItems;
+    
+    /**
+     * Builds the index over every item of the catalog. Only item ids are kept; names
+     * and items are read back from the catalog for the results of a query.
+     */
+    public MealSearchIndex(MealCatalog catalog) {
+        this.catalog = catalog;
+        this.itemCount = catalog.size();
+        this.trigramCounts = new int[itemCount];
+        this.root = new TrieNode();
+        
+        int[] all = new int[Math.max(16, itemCount * 8)];
+        int total = 0;
+        for (int i = 0; i < itemCount; i++) {
+            String name = normalize(catalog.getItemName(i));
+            for (String word : words(name)) {
+                TrieNode node = root;
+                for (int c = 0; c < word.length(); c++) {
+                    node = node.addChild(word.charAt(c));
+                }
+                node.addItem(i);
+            }
+            int[] trigrams = trigrams(name);
+            trigramCounts[i] = trigrams.length;
+            if (total + trigrams.length > all.length) {
+                all = Arrays.copyOf(all, Math.max(all.length * 2, total + trigrams.length));
+            }
+            System.arraycopy(trigrams, 0, all, total, trigrams.length);
+            total += trigrams.length;
+        }
+        root.countEntries();
+        
+        // The sorted copy yields the distinct trigrams, then is reused for the postings
+        int[] sorted = Arrays.copyOf(all, total);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        this.trigramKeys = Arrays.copyOf(sorted, distinct);
+        this.postingStarts = new int[distinct + 1];
+        for (int i = 0; i < total; i++) {
+            postingStarts[Arrays.binarySearch(trigramKeys, all[i]) + 1]++;
+        }
+        for (int k = 0; k < distinct; k++) {
+            postingStarts[k + 1] += postingStarts[k];
+        }
+        int[] next = Arrays.copyOf(postingStarts, distinct);
+        this.postingItems = sorted;
+        for (int i = 0, at = 0; i < itemCount; i++) {
+            for (int end = at + trigramCounts[i]; at < end; at++) {
+                postingItems[next[Arrays.binarySearch(trigramKeys, all[at])]++] = i;
+            }
+        }
+    }
+    
+    public int size() {
+        return itemCount;
+    }
+    
+    /**
+     * Returns up to limit items matching the query, best match first. Every word of the
+     * query must start a word of the item name for a prefix match; otherwise items are
+     * matched by shared trigrams, which tolerates typos.
+     */
+    public List<Result> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        // Items every query word is a prefix of a word of, ascending. Each word's items
+        // are collected in full, so no match is lost before the ranking
+        int[] prefixItems = null;
+        int prefixCount = 0;
+        for (String word : words(normalized)) {
+            TrieNode node = root;
+            for (int c = 0; c < word.length() && node != null; c++) {
+                node = node.child(word.charAt(c));
+            }
+            int[] items = NO_ITEMS;
+            int count = 0;
+            if (node != null) {
+                items = new int[node.entriesBelow];
+                count = distinct(items, collect(node, items, 0));
+            }
+            if (prefixItems == null) {
+                prefixItems = items;
+                prefixCount = count;
+            } else {
+                prefixCount = intersect(prefixItems, prefixCount, items, count);
+            }
+        }
+        
+        // Keeps the best limit candidates, the worst of them at the head
+        PriorityQueue<Candidate> best = new PriorityQueue<Candidate>(limit + 1, new Comparator<Candidate>() {
+            @Override
+            public int compare(Candidate a, Candidate b) {
+                return RANKING.compare(b, a);
+            }
+        });
+        for (int p = 0; p < prefixCount; p++) {
+            int i = prefixItems[p];
+            String itemName = catalog.getItemName(i);
+            String name = normalize(itemName);
+            int score;
+            if (name.equals(normalized)) {
+                score = SCORE_EXACT;
+            } else if (name.startsWith(normalized)) {
+                score = SCORE_NAME_PREFIX;
+            } else {
+                score = SCORE_WORD_PREFIX;
+            }
+            offer(best, limit, new Candidate(i, score, itemName));
+        }
+        
+        // Gathers the posting lists of the query's trigrams; after sorting, the run
+        // length of an item is the number of trigrams it shares with the query
+        int[] queryTrigrams = trigrams(normalized);
+        int postingCount = 0;
+        for (int trigram : queryTrigrams) {
+            int k = Arrays.binarySearch(trigramKeys, trigram);
+            if (k >= 0) {
+                postingCount += postingStarts[k + 1] - postingStarts[k];
+            }
+        }
+        if (postingCount > 0) {
+            int[] shared = new int[postingCount];
+            int size = 0;
+            for (int trigram : queryTrigrams) {
+                int k = Arrays.binarySearch(trigramKeys, trigram);
+                if (k >= 0) {
+                    int length = postingStarts[k + 1] - postingStarts[k];
+                    System.arraycopy(postingItems, postingStarts[k], shared, size, length);
+                    size += length;
+                }
+            }
+            Arrays.sort(shared);
+            int p = 0;
+            for (int start = 0; start < size; ) {
+                int i = shared[start];
+                int end = start + 1;
+                while (end < size && shared[end] == i) {
+                    end++;
+                }
+                while (p < prefixCount && prefixItems[p] < i) {
+                    p++;
+                }
+                if (p >= prefixCount || prefixItems[p] != i) {
+                    double similarity = 2.0 * (end - start) / (queryTrigrams.length + trigramCounts[i]);
+                    if (similarity >= MIN_SIMILARITY) {
+                        offer(best, limit, new Candidate(i, (int) (SCORE_FUZZY * similarity), catalog.getItemName(i)));
+                    }
+                }
+                start = end;
+            }
+        }
+        
+        ArrayList<Candidate> matched = new ArrayList<Candidate>(best);
+        Collections.sort(matched, RANKING);
+        List<Result> results = new ArrayList<Result>(matched.size());
+        for (Candidate candidate : matched) {
+            results.add(new Result(catalog.getItem(candidate.id), catalog.getItemCategory(candidate.id),
+                    candidate.score));
+        }
+        return results;
+    }
+    
+    private static void offer(PriorityQueue<Candidate> best, int limit, Candidate candidate) {
+        if (best.size() < limit) {
+            best.add(candidate);
+        } else if (RANKING.compare(candidate, best.peek()) < 0) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+    
+    // Adds the items below a trie node to items from count on and returns the new count;
+    // an item with several matching words is added more than once
+    private static int collect(TrieNode node, int[] items, int count) {
+        System.arraycopy(node.items, 0, items, count, node.itemCount);
+        count += node.itemCount;
+        for (TrieNode child : node.children) {
+            count = collect(child, items, count);
+        }
+        return count;
+    }
+    
+    // Sorts the first count items and removes repeats, returning the distinct count
+    private static int distinct(int[] items, int count) {
+        Arrays.sort(items, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || items[i] != items[i - 1]) {
+                items[distinct++] = items[i];
+            }
+        }
+        return distinct;
+    }
+    
+    // Keeps the items of the sorted target that are also in the sorted other list
+    private static int intersect(int[] target, int targetCount, int[] other, int otherCount) {
+        int kept = 0;
+        for (int i = 0, j = 0; i < targetCount && j < otherCount; ) {
+            if (target[i] < other[j]) {
+                i++;
+            } else if (target[i] > other[j]) {
+                j++;
+            } else {
+                target[kept++] = target[i];
+                i++;
+                j++;
+            }
+        }
+        return kept;
+    }
+    
+    // Lower case, with every run of other characters turned into one space
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString();
+    }
+    
+    private static String[] words(String normalized) {
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+    
+    // Distinct trigrams of the text padded with a space on both sides, packed into ints
+    private static int[] trigrams(String normalized) {
+        String padded = " " + normalized + " ";
+        if (padded.length() < 3) {
+            return NO_ITEMS;
+        }
+        int[] trigrams = new int[padded.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((padded.charAt(i) & 0x3FF) << 20) | ((padded.charAt(i + 1) & 0x3FF) << 10)
+                    | (padded.charAt(i + 2) & 0x3FF);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+}
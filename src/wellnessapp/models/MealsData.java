@@ -1,12 +1,20 @@
 package wellnessapp.models;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class MealsData {
     private static HashMap<String, HashMap<String, MealItem>> mealItems;
+    private static MealCatalog catalog;
+    private static MealSearchIndex searchIndex;
+    private static boolean indexBuilding;
+    private static final List<Runnable> indexListeners = new ArrayList<>();
     
     static {
-        mealItems = new HashMap<>();
+        mealItems = new LinkedHashMap<>();
         
         HashMap<String, MealItem> breakfast = new HashMap<>();
         breakfast.put("Scrambled Eggs", new MealItem("Scrambled Eggs", "2 eggs", 180));
@@ -110,14 +118,116 @@ public class MealsData {
         snacks.put("Idli", new MealItem("Idli", "1 piece", 70));
         snacks.put("Dhokla", new MealItem("Dhokla", "4 pieces", 160));
         mealItems.put("Snacks", snacks);
+        catalog = new InMemoryMealCatalog(mealItems);
     }
     
-    public static HashMap<String, MealItem> getMealItems(String category) {
-        return mealItems.get(category);
+    public static Map<String, MealItem> getMealItems(String category) {
+        return getCatalog().getItems(category);
     }
     
-    public static HashMap<String, HashMap<String, MealItem>> getAllMealItems() {
-        return mealItems;
+    public static Map<String, Map<String, MealItem>> getAllMealItems() {
+        MealCatalog current = getCatalog();
+        Map<String, Map<String, MealItem>> all = new LinkedHashMap<String, Map<String, MealItem>>();
+        for (String category : current.getCategories()) {
+            all.put(category, current.getItems(category));
+        }
+        return all;
+    }
+    
+    public static List<String> getCategories() {
+        return getCatalog().getCategories();
+    }
+    
+    public static synchronized MealCatalog getCatalog() {
+        return catalog;
+    }
+    
+    /**
+     * Replaces the built-in items with another catalog, such as a large food database
+     * read from a file.
+     */
+    public static synchronized void setCatalog(MealCatalog mealCatalog) {
+        catalog = mealCatalog;
+        searchIndex = null;
+    }
+    
+    /**
+     * Returns up to limit catalog items matching the query across all categories, best
+     * match first. The search index is built on first use, on the calling thread.
+     */
+    public static List<MealSearchIndex.Result> search(String query, int limit) {
+        return getSearchIndex().search(query, limit);
+    }
+    
+    public static synchronized MealSearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new MealSearchIndex(catalog);
+        }
+        return searchIndex;
+    }
+    
+    /**
+     * Returns the search index, or null while it has not been built yet.
+     */
+    public static synchronized MealSearchIndex getBuiltSearchIndex() {
+        return searchIndex;
+    }
+    
+    /**
+     * Builds the search index on a background thread, unless it is built or being
+     * built already, and runs the listener, if any, once it is ready. The listener runs
+     * on the building thread, or right away when the index is already built.
+     */
+    public static void buildSearchIndex(Runnable listener) {
+        synchronized (MealsData.class) {
+            if (searchIndex == null) {
+                if (listener != null) {
+                    indexListeners.add(listener);
+                }
+                if (!indexBuilding) {
+                    indexBuilding = true;
+                    Thread builder = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            runIndexBuilder();
+                        }
+                    }, "fitpro-search-index");
+                    builder.setDaemon(true);
+                    builder.start();
+                }
+                return;
+            }
+        }
+        if (listener != null) {
+            listener.run();
+        }
+    }
+    
+    private static void runIndexBuilder() {
+        List<Runnable> ready;
+        while (true) {
+            MealCatalog source;
+            synchronized (MealsData.class) {
+                source = catalog;
+            }
+            MealSearchIndex index = new MealSearchIndex(source);
+            synchronized (MealsData.class) {
+                // A catalog set during the build needs an index of its own
+                if (catalog != source) {
+                    continue;
+                }
+                if (searchIndex == null) {
+                    searchIndex = index;
+                }
+                indexBuilding = false;
+                ready = new ArrayList<>(indexListeners);
+                indexListeners.clear();
+            }
+            break;
+        }
+        for (Runnable listener : ready) {
+            listener.run();
+        }
     }
 }
 
@@ -0,0 +1,144 @@
+package wellnessapp.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable table of physical activities and their MET values (metabolic equivalents).
+ * Activities are stored at dense positions in plain arrays; the numeric id and the name
+ * of an activity are resolved to its position through perfect hashes, so no lookup
+ * boxes a key or a MET value.
+ */
+public class MetCatalog {
+    public static final String WORKOUT = "Workout";
+    public static final String SPORT = "Sport";
+    
+    private final int[] ids;
+    private final String[] names;
+    private final String[] categories;
+    private final double[] mets;
+    private final PerfectHashIndex byId;
+    private final PerfectHashIndex byName;
+    private final Map<String, List<String>> namesByCategory;
+    private final List<String> categoryList;
+    
+    private static class DefaultHolder {
+        static final MetCatalog CATALOG = DefaultMetActivities.create();
+    }
+    
+    /**
+     * Creates a catalog from parallel arrays, one entry per activity. Ids and names must
+     * be unique and MET values positive.
+     */
+    public MetCatalog(int[] ids, String[] categories, String[] names, double[] mets) {
+        int count = ids.length;
+        if (categories.length != count || names.length != count || mets.length != count) {
+            throw new IllegalArgumentException("Activity arrays differ in length");
+        }
+        this.ids = ids.clone();
+        this.categories = categories.clone();
+        this.names = names.clone();
+        this.mets = mets.clone();
+        
+        long[] idKeys = new long[count];
+        long[] nameKeys = new long[count];
+        Map<String, List<String>> grouped = new LinkedHashMap<String, List<String>>();
+        Set<String> seen = new HashSet<String>();
+        for (int i = 0; i < count; i++) {
+            if (!(this.mets[i] > 0) || Double.isInfinite(this.mets[i])) {
+                throw new IllegalArgumentException("Invalid MET value for " + this.names[i] + ": " + this.mets[i]);
+            }
+            if (!seen.add(this.names[i])) {
+                throw new IllegalArgumentException("Duplicate activity name " + this.names[i]);
+            }
+            idKeys[i] = this.ids[i];
+            nameKeys[i] = PerfectHashIndex.hashName(this.names[i]);
+            List<String> categoryNames = grouped.get(this.categories[i]);
+            if (categoryNames == null) {
+                categoryNames = new ArrayList<String>();
+                grouped.put(this.categories[i], categoryNames);
+            }
+            categoryNames.add(this.names[i]);
+        }
+        this.byId = PerfectHashIndex.build(idKeys);
+        this.byName = PerfectHashIndex.build(nameKeys);
+        
+        this.namesByCategory = new LinkedHashMap<String, List<String>>();
+        for (Map.Entry<String, List<String>> entry : grouped.entrySet()) {
+            namesByCategory.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        this.categoryList = Collections.unmodifiableList(new ArrayList<String>(namesByCategory.keySet()));
+    }
+    
+    /**
+     * Returns the built-in catalog: the workouts and sports of the fitness screen followed
+     * by a selection of the Compendium of Physical Activities, keyed by compendium code.
+     */
+    public static MetCatalog getDefault() {
+        return DefaultHolder.CATALOG;
+    }
+    
+    public int size() {
+        return ids.length;
+    }
+    
+    /**
+     * Returns the position of the activity with the given id, or -1.
+     */
+    public int indexOf(int id) {
+        return byId.get(id);
+    }
+    
+    /**
+     * Returns the position of the activity with the given name, or -1.
+     */
+    public int indexOfName(String name) {
+        if (name == null) {
+            return -1;
+        }
+        int index = byName.get(PerfectHashIndex.hashName(name));
+        return index >= 0 && names[index].equals(name) ? index : -1;
+    }
+    
+    public int getId(int index) {
+        return ids[index];
+    }
+    
+    public String getName(int index) {
+        return names[index];
+    }
+    
+    public String getCategory(int index) {
+        return categories[index];
+    }
+    
+    public double getMet(int index) {
+        return mets[index];
+    }
+    
+    /**
+     * Returns the MET value of the activity with the given id, or NaN if there is none.
+     */
+    public double getMetById(int id) {
+        int index = byId.get(id);
+        return index < 0 ? Double.NaN : mets[index];
+    }
+    
+    public List<String> getCategories() {
+        return categoryList;
+    }
+    
+    /**
+     * Returns the names of the activities in a category in catalog order, or an empty
+     * list for an unknown category.
+     */
+    public List<String> getNames(String category) {
+        List<String> categoryNames = namesByCategory.get(category);
+        return categoryNames == null ? Collections.<String>emptyList() : categoryNames;
+    }
+}
@@ -0,0 +1,58 @@
+package wellnessapp.models;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Process-wide table of interned names. Each distinct name gets a small int id once,
+ * so models can store ids instead of strings. Only catalog names are added, from the
+ * meal catalog and the MET tables, and only once they are logged, so the table is
+ * bounded by the catalogs and a name logged by many users is held on the heap once.
+ * Names typed in by users stay in their own ListTrackingData, since entries here are
+ * never freed.
+ * Adding names is synchronized; looking a name up by id takes no lock.
+ */
+public class NameDictionary {
+    private static final HashMap<String, Integer> ids = new HashMap<String, Integer>();
+    private static volatile String[] names = new String[64];
+    private static volatile int count = 0;
+    
+    public static synchronized int intern(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name must not be null");
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        String[] table = names;
+        if (count == table.length) {
+            table = Arrays.copyOf(table, count * 2);
+        }
+        table[count] = name;
+        names = table;
+        ids.put(name, count);
+        return count++;
+    }
+    
+    /**
+     * Returns the id of a name that was interned before, or -1 without adding it.
+     */
+    public static synchronized int lookup(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+    
+    public static String nameOf(int id) {
+        int size = count;
+        String[] table = names;
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Unknown name id " + id);
+        }
+        return table[id];
+    }
+    
+    public static int size() {
+        return count;
+    }
+}
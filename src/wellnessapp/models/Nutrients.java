@@ -0,0 +1,57 @@
+package wellnessapp.models;
+
+/**
+ * Positions in the nutrient vectors kept for meal items and logged meals. Each vector is
+ * a double[COUNT]; sodium is in milligrams, everything else in grams.
+ */
+public class Nutrients {
+    public static final int PROTEIN = 0;
+    public static final int CARBS = 1;
+    public static final int FAT = 2;
+    public static final int FIBRE = 3;
+    public static final int SODIUM = 4;
+    public static final int COUNT = 5;
+    
+    private static final String[] NAMES = {"Protein", "Carbs", "Fat", "Fibre", "Sodium"};
+    private static final String[] UNITS = {"g", "g", "g", "g", "mg"};
+    
+    public static String nameOf(int nutrient) {
+        return NAMES[nutrient];
+    }
+    
+    public static String unitOf(int nutrient) {
+        return UNITS[nutrient];
+    }
+    
+    public static boolean isEmpty(double[] nutrients) {
+        if (nutrients == null) {
+            return true;
+        }
+        for (int i = 0; i < COUNT; i++) {
+            if (nutrients[i] != 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Appends the non-zero nutrients, e.g. "Protein 12.5 g, Fat 3.0 g".
+     */
+    public static StringBuilder appendSummary(StringBuilder out, double[] nutrients) {
+        boolean first = true;
+        for (int i = 0; i < COUNT; i++) {
+            if (nutrients[i] == 0.0) {
+                continue;
+            }
+            if (!first) {
+                out.append(", ");
+            }
+            out.append(NAMES[i]).append(' ');
+            CalorieFormatter.appendFixed(out, Math.round(nutrients[i] * 10), 1);
+            out.append(' ').append(UNITS[i]);
+            first = false;
+        }
+        return out;
+    }
+}
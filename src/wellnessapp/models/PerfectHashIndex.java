@@ -0,0 +1,149 @@
+package wellnessapp.models;
+
+import java.util.Arrays;
+
+/**
+ * Collision-free hash table over a fixed set of long keys, built by hash and displace:
+ * keys are spread over small buckets and every bucket gets a seed that places all of its
+ * keys in free slots of one table. A lookup is two hashes and one key comparison over
+ * plain arrays.
+ */
+class PerfectHashIndex {
+    private static final int MAX_SEED = 1 << 16;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    
+    private final int[] seeds;
+    private final long[] slotKeys;
+    private final int[] slotValues;
+    private final int mask;
+    
+    private PerfectHashIndex(int[] seeds, long[] slotKeys, int[] slotValues) {
+        this.seeds = seeds;
+        this.slotKeys = slotKeys;
+        this.slotValues = slotValues;
+        this.mask = slotKeys.length - 1;
+    }
+    
+    /**
+     * Builds an index mapping keys[i] to i. The keys must be distinct.
+     */
+    static PerfectHashIndex build(long[] keys) {
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Duplicate key " + sorted[i]);
+            }
+        }
+        
+        int bucketCount = Math.max(1, (keys.length + 3) / 4);
+        int[] bucketSizes = new int[bucketCount];
+        int largestBucket = 0;
+        for (long key : keys) {
+            int bucket = bucketOf(key, bucketCount);
+            bucketSizes[bucket]++;
+            largestBucket = Math.max(largestBucket, bucketSizes[bucket]);
+        }
+        int[] bucketStart = new int[bucketCount + 1];
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b + 1] = bucketStart[b] + bucketSizes[b];
+        }
+        int[] members = new int[keys.length];
+        int[] filled = new int[bucketCount];
+        for (int i = 0; i < keys.length; i++) {
+            int bucket = bucketOf(keys[i], bucketCount);
+            members[bucketStart[bucket] + filled[bucket]++] = i;
+        }
+        
+        int tableSize = 2;
+        while (tableSize < keys.length * 2) {
+            tableSize <<= 1;
+        }
+        while (true) {
+            PerfectHashIndex index = place(keys, members, bucketStart, bucketSizes, largestBucket, tableSize);
+            if (index != null) {
+                return index;
+            }
+            tableSize <<= 1;
+        }
+    }
+    
+    // Places the largest buckets first while the table is still empty; null if a bucket does not fit
+    private static PerfectHashIndex place(long[] keys, int[] members, int[] bucketStart, int[] bucketSizes,
+                                          int largestBucket, int tableSize) {
+        int bucketCount = bucketSizes.length;
+        int[] seeds = new int[bucketCount];
+        long[] slotKeys = new long[tableSize];
+        int[] slotValues = new int[tableSize];
+        Arrays.fill(slotValues, -1);
+        int mask = tableSize - 1;
+        
+        for (int size = largestBucket; size > 0; size--) {
+            for (int b = 0; b < bucketCount; b++) {
+                if (bucketSizes[b] != size) {
+                    continue;
+                }
+                int seed = 1;
+                while (!tryPlace(keys, members, bucketStart[b], size, seed, slotKeys, slotValues, mask)) {
+                    if (++seed > MAX_SEED) {
+                        return null;
+                    }
+                }
+                seeds[b] = seed;
+            }
+        }
+        return new PerfectHashIndex(seeds, slotKeys, slotValues);
+    }
+    
+    private static boolean tryPlace(long[] keys, int[] members, int start, int size, int seed,
+                                    long[] slotKeys, int[] slotValues, int mask) {
+        for (int m = 0; m < size; m++) {
+            int item = members[start + m];
+            int slot = slotOf(keys[item], seed, mask);
+            if (slotValues[slot] >= 0) {
+                // Undo the keys of this bucket placed so far
+                for (int undo = 0; undo < m; undo++) {
+                    slotValues[slotOf(keys[members[start + undo]], seed, mask)] = -1;
+                }
+                return false;
+            }
+            slotKeys[slot] = keys[item];
+            slotValues[slot] = item;
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the position of the key in the array the index was built from, or -1.
+     */
+    int get(long key) {
+        int slot = slotOf(key, seeds[bucketOf(key, seeds.length)], mask);
+        int value = slotValues[slot];
+        return value >= 0 && slotKeys[slot] == key ? value : -1;
+    }
+    
+    private static int bucketOf(long key, int bucketCount) {
+        return (int) ((mix(key) >>> 33) % bucketCount);
+    }
+    
+    private static int slotOf(long key, int seed, int mask) {
+        return (int) mix(key + seed * GOLDEN) & mask;
+    }
+    
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * 64-bit FNV-1a hash of the characters of a string, used as the key for names.
+     */
+    static long hashName(CharSequence name) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash = (hash ^ name.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+}
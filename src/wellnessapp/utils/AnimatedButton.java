@@ -2,15 +2,18 @@ package wellnessapp.utils;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 public class AnimatedButton extends JButton {
+    // Hover moves in steps of 0.1, and the background of each step is rendered once
+    private static final int HOVER_STEPS = 10;
+    
     private Color normalColor;
     private Color hoverColor;
     private Color clickColor;
-    private Timer hoverTimer;
+    private final AnimationClock.Animation hoverAnimation;
+    private boolean hoverEntering;
+    private final BackgroundCache background;
     private float hoverAlpha = 0.0f;
     private boolean isHovering = false;
     
@@ -32,6 +35,36 @@ public class AnimatedButton extends JButton {
             BorderFactory.createEmptyBorder(5, 15, 5, 15)
         ));
         
+        background = new BackgroundCache(HOVER_STEPS + 1, new BackgroundCache.Painter() {
+            @Override
+            public void paint(Graphics2D g2d, int width, int height, int state) {
+                paintBackground(g2d, width, height, state / (float) HOVER_STEPS);
+            }
+        });
+        
+        hoverAnimation = new AnimationClock.Animation(10) {
+            @Override
+            protected boolean step() {
+                boolean done;
+                if (hoverEntering) {
+                    hoverAlpha += 0.1f;
+                    done = hoverAlpha >= 1.0f;
+                    if (done) {
+                        hoverAlpha = 1.0f;
+                    }
+                } else {
+                    hoverAlpha -= 0.1f;
+                    done = hoverAlpha <= 0.0f;
+                    if (done) {
+                        hoverAlpha = 0.0f;
+                    }
+                }
+                
+                AnimationClock.getInstance().repaint(AnimatedButton.this);
+                return !done;
+            }
+        };
+        
         addMouseListener(new MouseAdapter() {
             @Override
             public void mouseEntered(MouseEvent e) {
@@ -62,38 +95,29 @@ public class AnimatedButton extends JButton {
     }
     
     private void startHoverAnimation(boolean enter) {
-        if (hoverTimer != null && hoverTimer.isRunning()) {
-            hoverTimer.stop();
-        }
-        
-        hoverTimer = new Timer(10, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if (enter) {
-                    hoverAlpha += 0.1f;
-                    if (hoverAlpha >= 1.0f) {
-                        hoverAlpha = 1.0f;
-                        hoverTimer.stop();
-                    }
-                } else {
-                    hoverAlpha -= 0.1f;
-                    if (hoverAlpha <= 0.0f) {
-                        hoverAlpha = 0.0f;
-                        hoverTimer.stop();
-                    }
-                }
-                
-                repaint();
-            }
-        });
-        hoverTimer.start();
+        hoverEntering = enter;
+        AnimationClock.getInstance().start(hoverAnimation);
     }
     
     @Override
     protected void paintComponent(Graphics g) {
+        background.paint(g, this, Math.round(hoverAlpha * HOVER_STEPS));
+        
         Graphics2D g2d = (Graphics2D) g.create();
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setColor(new Color(0, 0, 0, 50));
+        FontMetrics fm = g2d.getFontMetrics();
+        int textX = (getWidth() - fm.stringWidth(getText())) / 2;
+        int textY = (getHeight() + fm.getAscent() - fm.getDescent()) / 2;
+        g2d.drawString(getText(), textX + 1, textY + 1);
         
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(getText(), textX, textY);
+        
+        g2d.dispose();
+    }
+    
+    private void paintBackground(Graphics2D g2d, int width, int height, float hoverAlpha) {
         int red = (int) (normalColor.getRed() + (hoverColor.getRed() - normalColor.getRed()) * hoverAlpha);
         int green = (int) (normalColor.getGreen() + (hoverColor.getGreen() - normalColor.getGreen()) * hoverAlpha);
         int blue = (int) (normalColor.getBlue() + (hoverColor.getBlue() - normalColor.getBlue()) * hoverAlpha);
@@ -101,34 +125,24 @@ public class AnimatedButton extends JButton {
         
         GradientPaint gradient = new GradientPaint(
             0, 0, currentColor.brighter(),
-            0, getHeight(), currentColor.darker()
+            0, height, currentColor.darker()
         );
         g2d.setPaint(gradient);
-        g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 8, 8);
+        g2d.fillRoundRect(0, 0, width, height, 8, 8);
         
         if (hoverAlpha > 0.3f) {
             g2d.setColor(new Color(0, 0, 0, (int)(30 * hoverAlpha)));
-            g2d.fillRoundRect(2, 2, getWidth(), getHeight(), 8, 8);
+            g2d.fillRoundRect(2, 2, width, height, 8, 8);
             g2d.setPaint(gradient);
-            g2d.fillRoundRect(0, 0, getWidth() - 2, getHeight() - 2, 8, 8);
+            g2d.fillRoundRect(0, 0, width - 2, height - 2, 8, 8);
         }
-        
-        g2d.setColor(new Color(0, 0, 0, 50));
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = (getWidth() - fm.stringWidth(getText())) / 2;
-        int textY = (getHeight() + fm.getAscent() - fm.getDescent()) / 2;
-        g2d.drawString(getText(), textX + 1, textY + 1);
-        
-        g2d.setColor(Color.WHITE);
-        g2d.drawString(getText(), textX, textY);
-        
-        g2d.dispose();
     }
     
     public void setButtonColors(Color normal, Color hover, Color click) {
         this.normalColor = normal;
         this.hoverColor = hover;
         this.clickColor = click;
+        background.clear();
         repaint();
     }
 }
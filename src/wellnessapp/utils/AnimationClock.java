@@ -0,0 +1,152 @@
+package wellnessapp.utils;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * Drives every animation of the application from one Swing timer. Each animation keeps
+ * its own step period; on every frame the clock runs the steps that have come due, then
+ * repaints the components the animations marked dirty, each once. The timer only runs
+ * while an animation is active, and a frame allocates nothing.
+ *
+ * All methods must be called on the event dispatch thread.
+ */
+public class AnimationClock {
+    public static final int FRAME_MILLIS = 16;
+    // After a stall an animation skips ahead rather than running every missed step at once
+    private static final int MAX_STEPS_PER_FRAME = 4;
+    private static final AnimationClock INSTANCE = new AnimationClock();
+    
+    /**
+     * One animation. The clock calls step() once per step period until it returns false.
+     */
+    public abstract static class Animation {
+        private final long stepNanos;
+        private long nextStep;
+        private boolean running;
+        // Still in the active list, which a stopped animation stays in until the next frame
+        private boolean listed;
+        
+        protected Animation(int stepMillis) {
+            this.stepNanos = stepMillis * 1000000L;
+        }
+        
+        /**
+         * Advances the animation by one step and returns whether it has more to do.
+         */
+        protected abstract boolean step();
+        
+        public boolean isRunning() {
+            return running;
+        }
+    }
+    
+    private final Timer timer;
+    private Animation[] active = new Animation[16];
+    private int activeCount;
+    private JComponent[] dirty = new JComponent[16];
+    private int dirtyCount;
+    
+    private AnimationClock() {
+        this.timer = new Timer(FRAME_MILLIS, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                frame(System.nanoTime());
+            }
+        });
+    }
+    
+    public static AnimationClock getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Starts an animation, its first step coming one step period from now. Starting a
+     * running animation starts its timing over.
+     */
+    public void start(Animation animation) {
+        animation.nextStep = System.nanoTime() + animation.stepNanos;
+        animation.running = true;
+        if (!animation.listed) {
+            animation.listed = true;
+            if (activeCount == active.length) {
+                active = grow(active);
+            }
+            active[activeCount++] = animation;
+        }
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+    
+    public void stop(Animation animation) {
+        animation.running = false;
+    }
+    
+    /**
+     * Repaints the component once after the steps of the current frame, or right away
+     * when the clock is idle.
+     */
+    public void repaint(JComponent component) {
+        if (!timer.isRunning()) {
+            component.repaint();
+            return;
+        }
+        for (int i = 0; i < dirtyCount; i++) {
+            if (dirty[i] == component) {
+                return;
+            }
+        }
+        if (dirtyCount == dirty.length) {
+            JComponent[] grown = new JComponent[dirtyCount * 2];
+            System.arraycopy(dirty, 0, grown, 0, dirtyCount);
+            dirty = grown;
+        }
+        dirty[dirtyCount++] = component;
+    }
+    
+    private void frame(long now) {
+        // Animations started by a step are appended and wait for their first period
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            Animation animation = active[i];
+            int steps = 0;
+            while (animation.running && now >= animation.nextStep) {
+                if (steps++ == MAX_STEPS_PER_FRAME) {
+                    animation.nextStep = now + animation.stepNanos;
+                    break;
+                }
+                animation.nextStep += animation.stepNanos;
+                if (!animation.step()) {
+                    animation.running = false;
+                }
+            }
+            if (animation.running) {
+                active[kept++] = animation;
+            } else {
+                animation.listed = false;
+            }
+        }
+        for (int i = kept; i < activeCount; i++) {
+            active[i] = null;
+        }
+        activeCount = kept;
+        
+        for (int i = 0; i < dirtyCount; i++) {
+            dirty[i].repaint();
+            dirty[i] = null;
+        }
+        dirtyCount = 0;
+        if (activeCount == 0) {
+            timer.stop();
+        }
+    }
+    
+    private static Animation[] grow(Animation[] animations) {
+        Animation[] grown = new Animation[animations.length * 2];
+        System.arraycopy(animations, 0, grown, 0, animations.length);
+        return grown;
+    }
+}
@@ -0,0 +1,120 @@
+package wellnessapp.utils;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pre-rendered backgrounds of one component. The painter draws a background once per
+ * state into a translucent image compatible with the screen, and painting the component
+ * after that is an image copy. Images are rendered at the device scale of the graphics
+ * they are drawn to, so they stay sharp on high resolution displays. They are dropped
+ * whenever the size, the scale or the screen of the component changes, and the oldest
+ * is replaced once every slot holds a state.
+ */
+public class BackgroundCache {
+    /**
+     * Draws the background of a state on a transparent canvas of the given size.
+     */
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height, int state);
+    }
+    
+    private final Painter painter;
+    private final int[] states;
+    private final BufferedImage[] images;
+    private int count;
+    private int next;
+    private int width;
+    private int height;
+    private double scale;
+    private GraphicsConfiguration config;
+    
+    public BackgroundCache(int capacity, Painter painter) {
+        this.painter = painter;
+        this.states = new int[capacity];
+        this.images = new BufferedImage[capacity];
+    }
+    
+    /**
+     * Draws the background of the state to fill the component.
+     */
+    public void paint(Graphics g, Component component, int state) {
+        int w = component.getWidth();
+        int h = component.getHeight();
+        BufferedImage image = get(g, component, state);
+        if (image == null) {
+            return;
+        }
+        if (scale == 1.0) {
+            g.drawImage(image, 0, 0, null);
+        } else {
+            g.drawImage(image, 0, 0, w, h, null);
+        }
+    }
+    
+    /**
+     * Draws the columns from sourceX to sourceX + columns of the state's background at
+     * x, at the full height of the component.
+     */
+    public void paintColumns(Graphics g, Component component, int state, int sourceX, int columns, int x) {
+        BufferedImage image = get(g, component, state);
+        if (image != null && columns > 0) {
+            int h = component.getHeight();
+            g.drawImage(image, x, 0, x + columns, h, (int) Math.round(sourceX * scale), 0,
+                    (int) Math.round((sourceX + columns) * scale), image.getHeight(), null);
+        }
+    }
+    
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            images[i] = null;
+        }
+        count = 0;
+        next = 0;
+    }
+    
+    private BufferedImage get(Graphics g, Component component, int state) {
+        int w = component.getWidth();
+        int h = component.getHeight();
+        if (w <= 0 || h <= 0) {
+            return null;
+        }
+        double deviceScale = g instanceof Graphics2D ? ((Graphics2D) g).getTransform().getScaleX() : 1.0;
+        GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        if (w != width || h != height || deviceScale != scale || gc != config) {
+            clear();
+            width = w;
+            height = h;
+            scale = deviceScale;
+            config = gc;
+        }
+        for (int i = 0; i < count; i++) {
+            if (states[i] == state) {
+                return images[i];
+            }
+        }
+        
+        int imageWidth = (int) Math.ceil(w * deviceScale);
+        int imageHeight = (int) Math.ceil(h * deviceScale);
+        BufferedImage image = gc != null
+                ? gc.createCompatibleImage(imageWidth, imageHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.transform(AffineTransform.getScaleInstance(deviceScale, deviceScale));
+        painter.paint(g2d, w, h, state);
+        g2d.dispose();
+        
+        int slot = count < states.length ? count++ : next;
+        next = (slot + 1) % states.length;
+        states[slot] = state;
+        images[slot] = image;
+        return image;
+    }
+}
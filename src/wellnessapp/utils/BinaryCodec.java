@@ -0,0 +1,443 @@
+package wellnessapp.utils;
+
+import wellnessapp.models.User;
+import wellnessapp.models.FitnessData;
+import wellnessapp.models.MealData;
+import wellnessapp.models.MetCatalog;
+import wellnessapp.models.Nutrients;
+import wellnessapp.models.Habit;
+import wellnessapp.models.HabitHistory;
+import wellnessapp.models.HabitTracker;
+import wellnessapp.models.MindfulnessData;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary encoding for the persisted models, used instead of java.io.Serializable.
+ * Integers are zig-zag varints and strings are dictionary encoded: the first occurrence
+ * of a string is written in full, later occurrences as a back-reference.
+ */
+public class BinaryCodec {
+    public static final int VERSION = 1;
+
+    private static final int TYPE_USER = 1;
+    private static final int TYPE_FITNESS = 2;
+    private static final int TYPE_MEAL = 3;
+    private static final int TYPE_HABIT_TRACKER = 4;
+    private static final int TYPE_MINDFULNESS = 5;
+
+    public static byte[] encode(Object value) {
+        Writer out = new Writer();
+        out.writeByte(VERSION);
+        if (value instanceof User) {
+            out.writeByte(TYPE_USER);
+            writeUser(out, (User) value);
+        } else if (value instanceof FitnessData) {
+            out.writeByte(TYPE_FITNESS);
+            writeFitnessData(out, (FitnessData) value);
+        } else if (value instanceof MealData) {
+            out.writeByte(TYPE_MEAL);
+            writeMealData(out, (MealData) value);
+        } else if (value instanceof HabitTracker) {
+            out.writeByte(TYPE_HABIT_TRACKER);
+            writeHabitTracker(out, (HabitTracker) value);
+        } else if (value instanceof MindfulnessData) {
+            out.writeByte(TYPE_MINDFULNESS);
+            writeMindfulnessData(out, (MindfulnessData) value);
+        } else {
+            throw new IllegalArgumentException("No binary encoding for " + value.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    public static Object decode(byte[] bytes) throws IOException {
+        Reader in = new Reader(bytes);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported encoding version " + version);
+        }
+        int type = in.readByte();
+        switch (type) {
+            case TYPE_USER:
+                return readUser(in);
+            case TYPE_FITNESS:
+                return readFitnessData(in);
+            case TYPE_MEAL:
+                return readMealData(in);
+            case TYPE_HABIT_TRACKER:
+                return readHabitTracker(in);
+            case TYPE_MINDFULNESS:
+                return readMindfulnessData(in);
+            default:
+                throw new IOException("Unknown record type " + type);
+        }
+    }
+
+    private static void writeUser(Writer out, User user) {
+        out.writeString(user.getUsername());
+        out.writeString(user.getPassword());
+        out.writeString(user.getName());
+        out.writeVarInt(user.getAge());
+        out.writeString(user.getGender());
+        out.writeDouble(user.getHeight());
+        out.writeDouble(user.getWeight());
+    }
+
+    private static User readUser(Reader in) throws IOException {
+        String username = in.readString();
+        String password = in.readString();
+        String name = in.readString();
+        int age = in.readVarInt();
+        String gender = in.readString();
+        double height = in.readDouble();
+        double weight = in.readDouble();
+        return new User(username, password, name, age, gender, height, weight);
+    }
+
+    private static void writeFitnessData(Writer out, FitnessData data) {
+        out.writeVarInt(data.getSteps());
+        out.writeVarInt(data.getCaloriesBurned());
+        out.writeVarInt(data.getTotalCalories());
+        out.writeString(data.getWorkoutType());
+        out.writeString(data.getSportType());
+        out.writeVarInt(data.getTargetSteps());
+        out.writeVarInt(data.getTargetCalories());
+        // Catalog activities are stored by id with their amounts, typed-in ones by name
+        out.writeVarInt(data.getEntryCount());
+        for (int i = 0; i < data.getEntryCount(); i++) {
+            int kind = data.getEntryKind(i);
+            out.writeByte(kind);
+            if (kind == FitnessData.ENTRY_MANUAL) {
+                out.writeString(data.getEntryName(i));
+            } else {
+                out.writeVarInt(data.getEntryActivity(i));
+                out.writeDouble(data.getEntryAmount(i));
+                if (kind == FitnessData.ENTRY_RUN) {
+                    out.writeDouble(data.getEntryDistance(i));
+                    out.writeDouble(data.getEntrySpeed(i));
+                }
+                String typed = data.getEntryAmountText(i);
+                out.writeString(typed == null ? "" : typed);
+            }
+            out.writeDouble(data.getEntryExactCalories(i));
+        }
+    }
+
+    private static FitnessData readFitnessData(Reader in) throws IOException {
+        FitnessData data = new FitnessData();
+        data.setSteps(in.readVarInt());
+        int caloriesBurned = in.readVarInt();
+        int totalCalories = in.readVarInt();
+        data.setWorkoutType(in.readString());
+        data.setSportType(in.readString());
+        data.setTargetSteps(in.readVarInt());
+        data.setTargetCalories(in.readVarInt());
+        int count = in.readCount();
+        for (int i = 0; i < count; i++) {
+            int kind = in.readByte();
+            if (kind == FitnessData.ENTRY_MANUAL) {
+                String name = in.readString();
+                data.addActivity(name, in.readDouble());
+                continue;
+            }
+            int activity = in.readVarInt();
+            if (MetCatalog.getDefault().indexOf(activity) < 0) {
+                throw new IOException("Unknown activity id " + activity);
+            }
+            double amount = in.readDouble();
+            double distance = 0.0;
+            double speed = 0.0;
+            if (kind == FitnessData.ENTRY_RUN) {
+                distance = in.readDouble();
+                speed = in.readDouble();
+            }
+            String typed = in.readString();
+            double calories = in.readDouble();
+            if (kind == FitnessData.ENTRY_REPS) {
+                data.addWorkout(activity, (int) amount, calories);
+            } else if (kind == FitnessData.ENTRY_DURATION) {
+                data.addSport(activity, amount, calories);
+            } else if (kind == FitnessData.ENTRY_RUN) {
+                data.addRun(activity, amount, distance, speed, calories);
+            } else {
+                throw new IOException("Unknown activity kind " + kind);
+            }
+            if (!typed.isEmpty()) {
+                data.setEntryAmountText(i, typed);
+            }
+        }
+        // Adding entries moved the totals; restore the stored ones
+        data.setCaloriesBurned(caloriesBurned);
+        data.setTotalCalories(totalCalories);
+        return data;
+    }
+
+    private static void writeMealData(Writer out, MealData data) {
+        out.writeVarInt(data.getWaterIntake());
+        out.writeVarInt(data.getCaloriesEaten());
+        out.writeVarInt(data.getTotalCalories());
+        out.writeVarInt(data.getTargetWater());
+        out.writeVarInt(data.getTargetCalories());
+        // Catalog meals are flagged so their names go back to the shared dictionary
+        out.writeVarInt(data.getEntryCount());
+        for (int i = 0; i < data.getEntryCount(); i++) {
+            out.writeByte(data.isCatalogEntry(i) ? 1 : 0);
+            out.writeString(data.getEntryName(i));
+            out.writeVarInt(data.getEntryCalories(i));
+            out.writeDouble(data.getEntryExactCalories(i));
+        }
+        // Most entries have no nutrients, so each one is flagged before its vector
+        for (int i = 0; i < data.getEntryCount(); i++) {
+            if (data.hasEntryNutrients(i)) {
+                out.writeByte(1);
+                for (int n = 0; n < Nutrients.COUNT; n++) {
+                    out.writeDouble(data.getEntryNutrient(i, n));
+                }
+            } else {
+                out.writeByte(0);
+            }
+        }
+    }
+
+    private static MealData readMealData(Reader in) throws IOException {
+        MealData data = new MealData();
+        data.setWaterIntake(in.readVarInt());
+        int caloriesEaten = in.readVarInt();
+        int totalCalories = in.readVarInt();
+        data.setTargetWater(in.readVarInt());
+        data.setTargetCalories(in.readVarInt());
+        int count = in.readCount();
+        for (int i = 0; i < count; i++) {
+            boolean catalog = in.readByte() != 0;
+            String name = in.readString();
+            int calories = in.readVarInt();
+            in.readDouble();
+            if (catalog) {
+                data.addCatalogMeal(name, calories);
+            } else {
+                data.addEntry(name, calories);
+            }
+        }
+        double[] nutrients = new double[Nutrients.COUNT];
+        for (int i = 0; i < count; i++) {
+            if (in.readByte() != 0) {
+                for (int n = 0; n < Nutrients.COUNT; n++) {
+                    nutrients[n] = in.readDouble();
+                }
+                data.setEntryNutrients(i, nutrients);
+            }
+        }
+        data.setCaloriesEaten(caloriesEaten);
+        data.setTotalCalories(totalCalories);
+        return data;
+    }
+
+    private static void writeHabitTracker(Writer out, HabitTracker tracker) {
+        List<Habit> habits = tracker.getHabits();
+        out.writeVarInt(habits.size());
+        for (Habit habit : habits) {
+            out.writeString(habit.getName());
+            out.writeByte(habit.isCompleted() ? 1 : 0);
+            writeHabitHistory(out, habit.getHistory());
+        }
+    }
+
+    private static HabitTracker readHabitTracker(Reader in) throws IOException {
+        HabitTracker tracker = new HabitTracker();
+        int count = in.readCount();
+        for (int i = 0; i < count; i++) {
+            String name = in.readString();
+            boolean completed = in.readByte() != 0;
+            // A repeated name is skipped, but its history still has to be read past
+            boolean added = tracker.addHabit(name, completed);
+            readHabitHistory(in, added ? tracker.getHabit(name).getHistory() : new HabitHistory());
+        }
+        return tracker;
+    }
+
+    // Only years with recorded days are written, each as its bitset words
+    private static void writeHabitHistory(Writer out, HabitHistory history) {
+        int years = 0;
+        for (int i = 0; i < history.getYearSpan(); i++) {
+            if (history.getYearWords(history.getFirstYear() + i) != null) {
+                years++;
+            }
+        }
+        out.writeVarInt(years);
+        for (int i = 0; i < history.getYearSpan(); i++) {
+            int year = history.getFirstYear() + i;
+            long[] words = history.getYearWords(year);
+            if (words != null) {
+                out.writeVarInt(year);
+                for (long word : words) {
+                    out.writeVarLong(word);
+                }
+            }
+        }
+    }
+
+    private static void readHabitHistory(Reader in, HabitHistory history) throws IOException {
+        int years = in.readCount();
+        long[] words = new long[HabitHistory.WORDS_PER_YEAR];
+        for (int i = 0; i < years; i++) {
+            int year = in.readVarInt();
+            for (int w = 0; w < words.length; w++) {
+                words[w] = in.readVarLong();
+            }
+            history.setYearWords(year, words);
+        }
+    }
+
+    private static void writeMindfulnessData(Writer out, MindfulnessData data) {
+        out.writeVarInt(data.getMeditationTime());
+        out.writeVarInt(data.getTargetMeditationTime());
+        out.writeString(data.getMood());
+    }
+
+    private static MindfulnessData readMindfulnessData(Reader in) throws IOException {
+        MindfulnessData data = new MindfulnessData();
+        data.setMeditationTime(in.readVarInt());
+        data.setTargetMeditationTime(in.readVarInt());
+        data.setMood(in.readString());
+        return data;
+    }
+
+    public static class Writer {
+        private byte[] buffer = new byte[128];
+        private int size;
+        private final Map<String, Integer> dictionary = new HashMap<String, Integer>();
+
+        public void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        public void writeVarInt(int value) {
+            writeVarLong(value);
+        }
+
+        public void writeVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            ensureCapacity(10);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[size++] = (byte) zigzag;
+        }
+
+        public void writeDouble(double value) {
+            long bits = Double.doubleToLongBits(value);
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (bits >>> shift);
+            }
+        }
+
+        /**
+         * Writes 0 followed by the UTF-8 bytes for a new string, or id + 1 for a string
+         * already written by this writer. Null is written as a back-reference of -1.
+         */
+        public void writeString(String value) {
+            if (value == null) {
+                writeVarInt(-1);
+                return;
+            }
+            Integer id = dictionary.get(value);
+            if (id != null) {
+                writeVarInt(id + 1);
+                return;
+            }
+            dictionary.put(value, dictionary.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(0);
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    public static class Reader {
+        private final byte[] buffer;
+        private int position;
+        private final List<String> dictionary = new ArrayList<String>();
+
+        public Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        public int readByte() throws IOException {
+            if (position >= buffer.length) {
+                throw new IOException("Unexpected end of record");
+            }
+            return buffer[position++];
+        }
+
+        public int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        public long readVarLong() throws IOException {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        public int readCount() throws IOException {
+            int count = readVarInt();
+            if (count < 0 || count > buffer.length - position) {
+                throw new IOException("Invalid element count " + count);
+            }
+            return count;
+        }
+
+        public double readDouble() throws IOException {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (readByte() & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        public String readString() throws IOException {
+            int reference = readVarInt();
+            if (reference == -1) {
+                return null;
+            }
+            if (reference > 0) {
+                if (reference > dictionary.size()) {
+                    throw new IOException("Invalid string reference " + reference);
+                }
+                return dictionary.get(reference - 1);
+            }
+            int length = readCount();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            dictionary.add(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package wellnessapp.utils;
+
+import wellnessapp.models.DaySummary;
+import wellnessapp.models.Nutrients;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Memory-mapped file of one user's finished days. Every day has a fixed 64-byte slot
+ * of plain integers and the day's nutrient totals as floats, at a position computed
+ * from its epoch day, so a day is found without searching and a date range is scanned
+ * straight out of the mapping. The file grows in chunks of CHUNK_DAYS slots as later
+ * days are added.
+ */
+public class DayHistory {
+    public static final int RECORD_SIZE = 64;
+
+    // Field offsets within a record, for get() and sum()
+    public static final int FIELD_STEPS = 4;
+    public static final int FIELD_CALORIES_BURNED = 8;
+    public static final int FIELD_CALORIES_EATEN = 12;
+    public static final int FIELD_WATER_INTAKE = 16;
+    public static final int FIELD_MEDITATION_TIME = 24;
+
+    private static final int OFFSET_HABITS_COMPLETED = 20;
+    private static final int OFFSET_HABIT_COUNT = 22;
+    private static final int OFFSET_FLAGS = 28;
+    // One float per Nutrients constant; the rest of the record is unused
+    private static final int OFFSET_NUTRIENTS = 32;
+    private static final int FLAG_PRESENT = 1;
+
+    private static final int MAGIC = 0x46504448;
+    private static final int VERSION = 3;
+    // The header takes one record slot so records stay aligned
+    private static final int HEADER_SIZE = RECORD_SIZE;
+    private static final int CHUNK_DAYS = 128;
+    private static final int NO_DAY = Integer.MIN_VALUE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int firstDay;
+    private int lastDay;
+
+    private DayHistory(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    public static DayHistory open(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        DayHistory history = new DayHistory(path, channel);
+        try {
+            history.load();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return history;
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) CHUNK_DAYS * RECORD_SIZE);
+            map.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE).putInt(12, NO_DAY).putInt(16, NO_DAY);
+            map.force();
+        } else {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || map.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Not a day history file: " + path);
+            }
+        }
+        firstDay = map.getInt(12);
+        lastDay = map.getInt(16);
+    }
+
+    public synchronized boolean isEmpty() {
+        return firstDay == NO_DAY;
+    }
+
+    public synchronized long getFirstDay() {
+        return firstDay;
+    }
+
+    public synchronized long getLastDay() {
+        return lastDay;
+    }
+
+    /**
+     * Stores a day. If the day is already stored, as when a second new day is started on
+     * the same date, its totals are added to the stored ones and its habit counts, which
+     * already cover the whole day, replace the stored counts. Days before the first
+     * stored day cannot be added.
+     */
+    public synchronized void append(DaySummary day) throws IOException {
+        long epochDay = day.getEpochDay();
+        if (epochDay <= NO_DAY || epochDay > Integer.MAX_VALUE) {
+            throw new IOException("Day out of range: " + epochDay);
+        }
+        if (firstDay == NO_DAY) {
+            firstDay = (int) epochDay;
+            map.putInt(12, firstDay);
+        } else if (epochDay < firstDay) {
+            throw new IOException("Day " + epochDay + " is before the start of the history");
+        }
+
+        long position = positionOf(epochDay);
+        if (position + RECORD_SIZE > map.capacity()) {
+            long slots = (position - HEADER_SIZE) / RECORD_SIZE + 1;
+            long chunks = (slots + CHUNK_DAYS - 1) / CHUNK_DAYS;
+            long size = HEADER_SIZE + chunks * CHUNK_DAYS * RECORD_SIZE;
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Day history too large");
+            }
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        int at = (int) position;
+        boolean stored = (map.getInt(at + OFFSET_FLAGS) & FLAG_PRESENT) != 0;
+        map.putInt(at, (int) epochDay);
+        addInt(at + FIELD_STEPS, day.getSteps(), stored);
+        addInt(at + FIELD_CALORIES_BURNED, day.getCaloriesBurned(), stored);
+        addInt(at + FIELD_CALORIES_EATEN, day.getCaloriesEaten(), stored);
+        addInt(at + FIELD_WATER_INTAKE, day.getWaterIntake(), stored);
+        map.putShort(at + OFFSET_HABITS_COMPLETED, (short) day.getHabitsCompleted());
+        map.putShort(at + OFFSET_HABIT_COUNT, (short) day.getHabitCount());
+        addInt(at + FIELD_MEDITATION_TIME, day.getMeditationTime(), stored);
+        for (int n = 0; n < Nutrients.COUNT; n++) {
+            int field = at + OFFSET_NUTRIENTS + n * 4;
+            float value = (float) day.getNutrient(n);
+            map.putFloat(field, stored ? map.getFloat(field) + value : value);
+        }
+        map.putInt(at + OFFSET_FLAGS, FLAG_PRESENT);
+        if (epochDay > lastDay) {
+            lastDay = (int) epochDay;
+            map.putInt(16, lastDay);
+        }
+        map.force();
+    }
+
+    public synchronized boolean contains(long epochDay) {
+        return slotOf(epochDay) >= 0;
+    }
+
+    /**
+     * Returns one field of a stored day, or 0 if the day is not stored.
+     */
+    public synchronized int get(long epochDay, int field) {
+        int at = slotOf(epochDay);
+        return at < 0 ? 0 : map.getInt(at + field);
+    }
+
+    /**
+     * Returns the total of one Nutrients constant for a stored day, or 0 if the day is
+     * not stored.
+     */
+    public synchronized double getNutrient(long epochDay, int nutrient) {
+        int at = slotOf(epochDay);
+        return at < 0 ? 0.0 : map.getFloat(at + OFFSET_NUTRIENTS + nutrient * 4);
+    }
+
+    public synchronized int getHabitsCompleted(long epochDay) {
+        int at = slotOf(epochDay);
+        return at < 0 ? 0 : map.getShort(at + OFFSET_HABITS_COMPLETED);
+    }
+
+    public synchronized int getHabitCount(long epochDay) {
+        int at = slotOf(epochDay);
+        return at < 0 ? 0 : map.getShort(at + OFFSET_HABIT_COUNT);
+    }
+
+    /**
+     * Adds up one field over the stored days from fromDay to toDay inclusive, reading
+     * the mapping directly.
+     */
+    public synchronized long sum(int field, long fromDay, long toDay) {
+        if (firstDay == NO_DAY) {
+            return 0;
+        }
+        long from = Math.max(fromDay, firstDay);
+        long to = Math.min(toDay, lastDay);
+        long total = 0;
+        for (long day = from; day <= to; day++) {
+            int at = (int) positionOf(day);
+            if ((map.getInt(at + OFFSET_FLAGS) & FLAG_PRESENT) != 0) {
+                total += map.getInt(at + field);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Adds the nutrient totals of the stored days from fromDay to toDay inclusive to the
+     * given vector, indexed by the Nutrients constants, e.g. for a week's macros.
+     */
+    public synchronized void addNutrientTotals(double[] totals, long fromDay, long toDay) {
+        if (firstDay == NO_DAY) {
+            return;
+        }
+        for (long day = Math.max(fromDay, firstDay); day <= Math.min(toDay, lastDay); day++) {
+            int at = (int) positionOf(day);
+            if ((map.getInt(at + OFFSET_FLAGS) & FLAG_PRESENT) != 0) {
+                for (int n = 0; n < Nutrients.COUNT; n++) {
+                    totals[n] += map.getFloat(at + OFFSET_NUTRIENTS + n * 4);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the stored days from fromDay to toDay inclusive.
+     */
+    public synchronized int count(long fromDay, long toDay) {
+        if (firstDay == NO_DAY) {
+            return 0;
+        }
+        int count = 0;
+        for (long day = Math.max(fromDay, firstDay); day <= Math.min(toDay, lastDay); day++) {
+            if ((map.getInt((int) positionOf(day) + OFFSET_FLAGS) & FLAG_PRESENT) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the stored days from fromDay to toDay inclusive as objects, oldest first.
+     */
+    public synchronized List<DaySummary> read(long fromDay, long toDay) {
+        List<DaySummary> days = new ArrayList<DaySummary>();
+        if (firstDay == NO_DAY) {
+            return days;
+        }
+        for (long day = Math.max(fromDay, firstDay); day <= Math.min(toDay, lastDay); day++) {
+            int at = (int) positionOf(day);
+            if ((map.getInt(at + OFFSET_FLAGS) & FLAG_PRESENT) == 0) {
+                continue;
+            }
+            days.add(new DaySummary(day, map.getInt(at + FIELD_STEPS), map.getInt(at + FIELD_CALORIES_BURNED),
+                    map.getInt(at + FIELD_CALORIES_EATEN), map.getInt(at + FIELD_WATER_INTAKE),
+                    map.getShort(at + OFFSET_HABITS_COMPLETED), map.getShort(at + OFFSET_HABIT_COUNT),
+                    map.getInt(at + FIELD_MEDITATION_TIME), nutrientsAt(at)));
+        }
+        return days;
+    }
+
+    public synchronized void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+
+    private double[] nutrientsAt(int at) {
+        double[] nutrients = new double[Nutrients.COUNT];
+        for (int n = 0; n < Nutrients.COUNT; n++) {
+            nutrients[n] = map.getFloat(at + OFFSET_NUTRIENTS + n * 4);
+        }
+        return nutrients;
+    }
+
+    private void addInt(int at, int value, boolean stored) {
+        map.putInt(at, stored ? map.getInt(at) + value : value);
+    }
+
+    private long positionOf(long epochDay) {
+        return HEADER_SIZE + (epochDay - firstDay) * RECORD_SIZE;
+    }
+
+    private int slotOf(long epochDay) {
+        if (firstDay == NO_DAY || epochDay < firstDay || epochDay > lastDay) {
+            return -1;
+        }
+        int at = (int) positionOf(epochDay);
+        return (map.getInt(at + OFFSET_FLAGS) & FLAG_PRESENT) != 0 ? at : -1;
+    }
+}
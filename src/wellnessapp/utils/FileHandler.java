@@ -5,70 +5,291 @@ import wellnessapp.models.FitnessData;
 import wellnessapp.models.MealData;
 import wellnessapp.models.HabitTracker;
 import wellnessapp.models.MindfulnessData;
+import wellnessapp.models.DaySummary;
+import wellnessapp.models.MealsData;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 public class FileHandler {
+    private static final byte KIND_USER = StorageEngine.KIND_USER;
+    private static final byte KIND_FITNESS = StorageEngine.KIND_FITNESS;
+    private static final byte KIND_MEAL = StorageEngine.KIND_MEAL;
+    private static final byte KIND_HABIT = StorageEngine.KIND_HABIT;
+    private static final byte KIND_MINDFULNESS = StorageEngine.KIND_MINDFULNESS;
+
+    private static final int DEFAULT_CACHED_USERS = 32;
+    private static final String FOOD_CATALOG_FILE = "foods.catalog";
+    private static final int LOCK_STRIPES = 64;
+
     private static FileHandler instance;
-    
-    private Map<String, User> users;
-    private Map<String, FitnessData> fitnessData;
-    private Map<String, MealData> mealData;
-    private Map<String, HabitTracker> habitTrackers;
-    private Map<String, MindfulnessData> mindfulnessData;
-    
+
+    private final UserDataCache cache;
+    // Serializes loads and saves per user; different users almost never share a stripe
+    private final Object[] userLocks;
+    private StorageEngine storage;
+    private WriteBehindQueue writeBehind;
+    private final Map<String, DayHistory> histories = new ConcurrentHashMap<String, DayHistory>();
+
     private FileHandler() {
-        users = new HashMap<String, User>();
-        fitnessData = new HashMap<String, FitnessData>();
-        mealData = new HashMap<String, MealData>();
-        habitTrackers = new HashMap<String, HabitTracker>();
-        mindfulnessData = new HashMap<String, MindfulnessData>();
-    }
-    
-    public static FileHandler getInstance() {
+        cache = new UserDataCache(Integer.getInteger("fitpro.cachedUsers", DEFAULT_CACHED_USERS));
+        userLocks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            userLocks[i] = new Object();
+        }
+
+        openStorage();
+        openFoodCatalog();
+    }
+
+    public static synchronized FileHandler getInstance() {
         if (instance == null) {
             instance = new FileHandler();
         }
         return instance;
     }
-    
-    public void saveUsers(Map<String, User> users) {
-        this.users = users;
+
+    public static Path getDataDirectory() {
+        String configured = System.getProperty("fitpro.dataDir");
+        if (configured != null && !configured.trim().isEmpty()) {
+            return Paths.get(configured.trim());
+        }
+        return Paths.get(System.getProperty("user.home"), ".fitpro");
+    }
+
+    /**
+     * Picks the storage engine named by the fitpro.storage system property:
+     * "memory", "journal" (the default) or "sharded".
+     */
+    public static StorageEngine createStorageEngine() {
+        String configured = System.getProperty("fitpro.storage", "journal").trim().toLowerCase();
+        if (configured.equals("memory")) {
+            return new MemoryStorageEngine();
+        }
+        if (configured.equals("sharded")) {
+            return new ShardedStorageEngine(getDataDirectory());
+        }
+        if (!configured.equals("journal")) {
+            System.err.println("Unknown storage engine '" + configured + "', using journal");
+        }
+        return new JournalStorageEngine(getDataDirectory());
+    }
+
+    private void openStorage() {
+        storage = createStorageEngine();
+        try {
+            storage.open();
+        } catch (IOException e) {
+            System.err.println("Storage unavailable, data will not be persisted: " + e.getMessage());
+            storage = new MemoryStorageEngine();
+        }
+        writeBehind = new WriteBehindQueue(storage);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                close();
+            }
+        }, "fitpro-storage-shutdown"));
+    }
+
+    /**
+     * Uses the food catalog file named by fitpro.foodCatalog, or foods.catalog in the
+     * data directory, in place of the built-in meal items when it exists.
+     */
+    private void openFoodCatalog() {
+        String configured = System.getProperty("fitpro.foodCatalog");
+        Path path = configured != null && !configured.trim().isEmpty()
+                ? Paths.get(configured.trim()) : getDataDirectory().resolve(FOOD_CATALOG_FILE);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            MealsData.setCatalog(MappedFoodCatalog.open(path));
+        } catch (IOException e) {
+            System.err.println("Food catalog unavailable, using built-in items: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns one user's record from the cache, reading and decoding it from storage on
+     * a miss. Returns null if the user has no record of that kind.
+     */
+    private Object load(byte kind, String username) {
+        synchronized (lockFor(username)) {
+            if (cache.contains(kind, username)) {
+                return cache.get(kind, username);
+            }
+            try {
+                byte[] payload = writeBehind.pendingPayload(kind, username);
+                if (payload == null) {
+                    payload = storage.get(kind, username);
+                }
+                Object value = payload == null ? null : decode(payload);
+                cache.put(kind, username, value);
+                return value;
+            } catch (IOException e) {
+                System.err.println("Failed to load data for " + username + ": " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Caches the value and encodes it on the caller's thread, so later changes to the
+     * model do not leak into the queued record, then leaves the disk write to the
+     * write-behind queue. Holding the user's lock keeps a concurrent load from caching
+     * an older copy and keeps one user's changes in order.
+     */
+    private void store(byte kind, String username, Object value) {
+        synchronized (lockFor(username)) {
+            cache.put(kind, username, value);
+            try {
+                writeBehind.enqueue(kind, username, encode(value));
+            } catch (IOException e) {
+                System.err.println("Failed to store change for " + username + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Object lockFor(String username) {
+        int hash = username.hashCode();
+        return userLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    private byte[] encode(Object value) {
+        return BinaryCodec.encode(value);
+    }
+
+    private Object decode(byte[] payload) {
+        try {
+            return BinaryCodec.decode(payload);
+        } catch (IOException e) {
+            System.err.println("Skipping unreadable record: " + e.getMessage());
+            return null;
+        }
     }
-    
-    public Map<String, User> loadUsers() {
-        return users;
+
+    /**
+     * Blocks until every save made so far is on disk.
+     */
+    public void flush() {
+        try {
+            writeBehind.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to flush storage: " + e.getMessage());
+        }
     }
-    
+
+    public void close() {
+        try {
+            writeBehind.close();
+        } catch (IOException e) {
+            System.err.println("Failed to store pending changes: " + e.getMessage());
+        }
+        for (DayHistory history : histories.values()) {
+            try {
+                history.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close day history: " + e.getMessage());
+            }
+        }
+        histories.clear();
+        try {
+            storage.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close storage: " + e.getMessage());
+        }
+    }
+
+    public UserDataCache getCache() {
+        return cache;
+    }
+
+    public void saveUser(User user) {
+        store(KIND_USER, user.getUsername(), user);
+    }
+
+    public User loadUser(String username) {
+        return (User) load(KIND_USER, username);
+    }
+
     public void saveFitnessData(String username, FitnessData data) {
-        fitnessData.put(username, data);
+        store(KIND_FITNESS, username, data);
     }
-    
-    public Map<String, FitnessData> loadFitnessData() {
-        return fitnessData;
+
+    public FitnessData loadFitnessData(String username) {
+        return (FitnessData) load(KIND_FITNESS, username);
     }
-    
+
     public void saveMealData(String username, MealData data) {
-        mealData.put(username, data);
+        store(KIND_MEAL, username, data);
     }
-    
-    public Map<String, MealData> loadMealData() {
-        return mealData;
+
+    public MealData loadMealData(String username) {
+        return (MealData) load(KIND_MEAL, username);
     }
-    
+
     public void saveHabitTracker(String username, HabitTracker tracker) {
-        habitTrackers.put(username, tracker);
+        store(KIND_HABIT, username, tracker);
     }
-    
-    public Map<String, HabitTracker> loadHabitTrackers() {
-        return habitTrackers;
+
+    public HabitTracker loadHabitTracker(String username) {
+        return (HabitTracker) load(KIND_HABIT, username);
     }
-    
+
     public void saveMindfulnessData(String username, MindfulnessData data) {
-        mindfulnessData.put(username, data);
+        store(KIND_MINDFULNESS, username, data);
+    }
+
+    public MindfulnessData loadMindfulnessData(String username) {
+        return (MindfulnessData) load(KIND_MINDFULNESS, username);
     }
-    
-    public Map<String, MindfulnessData> loadMindfulnessData() {
-        return mindfulnessData;
+
+    /**
+     * Stores a finished day in the user's history file. Returns false if it could not
+     * be stored, in which case the day's data must be kept.
+     */
+    public boolean archiveDay(String username, DaySummary day) {
+        try {
+            getDayHistory(username).append(day);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Failed to archive day for " + username + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    public List<DaySummary> loadDayHistory(String username, long fromDay, long toDay) {
+        try {
+            return getDayHistory(username).read(fromDay, toDay);
+        } catch (IOException e) {
+            System.err.println("Failed to read day history for " + username + ": " + e.getMessage());
+            return new ArrayList<DaySummary>();
+        }
+    }
+
+    /**
+     * Returns the user's mapped day history, for reports that scan many days through
+     * DayHistory.get() and sum() without creating objects per day.
+     */
+    public DayHistory getDayHistory(String username) throws IOException {
+        DayHistory history = histories.get(username);
+        if (history == null) {
+            synchronized (lockFor(username)) {
+                history = histories.get(username);
+                if (history == null) {
+                    history = DayHistory.open(getDataDirectory().resolve("history")
+                            .resolve(ShardedStorageEngine.encodeName(username) + ".days"));
+                    histories.put(username, history);
+                }
+            }
+        }
+        return history;
     }
 }
@@ -0,0 +1,238 @@
+package wellnessapp.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal with group commit.
+ * Each record is [length][crc32][kind][username][payload]. Appends only go to an
+ * in-memory batch; a background committer writes the batch and forces it to disk,
+ * so a burst of mutations shares a single fsync.
+ */
+public class Journal {
+    public interface RecordHandler {
+        void apply(byte kind, String username, byte[] payload);
+    }
+
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_BATCH_BYTES = 256 * 1024;
+
+    private final FileChannel channel;
+    private final long commitIntervalMillis;
+    private final Thread committer;
+
+    private ByteArrayOutputStream pending;
+    private DataOutputStream pendingOut;
+    private final CRC32 crc;
+    private long appendedCount;
+    private long durableCount;
+    private IOException failure;
+    private boolean closed;
+
+    public Journal(Path path, long commitIntervalMillis) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.pending = new ByteArrayOutputStream();
+        this.pendingOut = new DataOutputStream(pending);
+        this.crc = new CRC32();
+
+        this.committer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runCommitLoop();
+            }
+        }, "fitpro-journal-committer");
+        this.committer.setDaemon(true);
+    }
+
+    /**
+     * Replays every intact record in order and truncates a torn tail left by a crash.
+     * Must be called before {@link #start()}.
+     */
+    public int replay(RecordHandler handler) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        int count = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        CRC32 check = new CRC32();
+
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            int expectedCrc = header.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || position + HEADER_SIZE + length > size) {
+                break;
+            }
+
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(body, position + HEADER_SIZE);
+            check.reset();
+            check.update(body.array(), 0, length);
+            if ((int) check.getValue() != expectedCrc) {
+                break;
+            }
+
+            body.flip();
+            byte kind = body.get();
+            int nameLength = body.getShort() & 0xFFFF;
+            String username = new String(body.array(), body.position(), nameLength, StandardCharsets.UTF_8);
+            body.position(body.position() + nameLength);
+            byte[] payload = new byte[body.remaining()];
+            body.get(payload);
+            handler.apply(kind, username, payload);
+
+            position += HEADER_SIZE + length;
+            count++;
+        }
+
+        if (position < size) {
+            channel.truncate(position);
+            channel.force(true);
+        }
+        channel.position(position);
+        return count;
+    }
+
+    public void start() {
+        committer.start();
+    }
+
+    public synchronized void append(byte kind, String username, byte[] payload) throws IOException {
+        if (closed) {
+            throw new IOException("Journal is closed");
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 2 + name.length + payload.length;
+        crc.reset();
+        crc.update(kind);
+        crc.update((name.length >>> 8) & 0xFF);
+        crc.update(name.length & 0xFF);
+        crc.update(name, 0, name.length);
+        crc.update(payload, 0, payload.length);
+
+        pendingOut.writeInt(length);
+        pendingOut.writeInt((int) crc.getValue());
+        pendingOut.writeByte(kind);
+        pendingOut.writeShort(name.length);
+        pendingOut.write(name);
+        pendingOut.write(payload);
+        appendedCount++;
+
+        if (pending.size() >= MAX_BATCH_BYTES) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until everything appended so far has been forced to disk.
+     */
+    public synchronized void sync() throws IOException {
+        long target = appendedCount;
+        notifyAll();
+        while (durableCount < target && failure == null && committer.isAlive()) {
+            try {
+                wait(commitIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!committer.isAlive()) {
+            commitPending();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        commitPending();
+        channel.close();
+    }
+
+    private void runCommitLoop() {
+        while (true) {
+            synchronized (this) {
+                if (pending.size() == 0 && !closed) {
+                    try {
+                        wait(commitIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+            commitPending();
+        }
+    }
+
+    private void commitPending() {
+        ByteArrayOutputStream batch;
+        long batchCount;
+        synchronized (this) {
+            if (pending.size() == 0) {
+                durableCount = appendedCount;
+                notifyAll();
+                return;
+            }
+            batch = pending;
+            batchCount = appendedCount;
+            pending = new ByteArrayOutputStream();
+            pendingOut = new DataOutputStream(pending);
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            synchronized (this) {
+                durableCount = batchCount;
+                notifyAll();
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+                notifyAll();
+            }
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of journal");
+            }
+        }
+    }
+}
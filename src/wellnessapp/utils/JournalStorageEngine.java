@@ -0,0 +1,252 @@
+package wellnessapp.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-file store: one active write-ahead journal segment plus the snapshot it
+ * continues from. Best for a desktop with a handful of users.
+ * Only the snapshot index and the records journaled since the snapshot are kept in
+ * memory; everything else is read from the snapshot on demand.
+ */
+public class JournalStorageEngine implements StorageEngine {
+    private static final long GROUP_COMMIT_MILLIS = 50;
+    private static final int SNAPSHOT_EVERY_RECORDS = 5000;
+    private static final long SNAPSHOT_INTERVAL_MINUTES = 5;
+
+    private final Path dataDirectory;
+    private Journal journal;
+    private long generation;
+    private int recordsSinceSnapshot;
+    private boolean snapshotInProgress;
+    private Snapshot base;
+    private Map<String, byte[]>[] tail;
+    private ScheduledExecutorService snapshotExecutor;
+
+    public JournalStorageEngine(Path dataDirectory) {
+        this.dataDirectory = dataDirectory;
+    }
+
+    @Override
+    public synchronized void open() throws IOException {
+        tail = newRecordMaps();
+        Files.createDirectories(dataDirectory);
+
+        Journal.RecordHandler loader = new Journal.RecordHandler() {
+            @Override
+            public void apply(byte kind, String username, byte[] payload) {
+                if (kind > 0 && kind < KIND_COUNT) {
+                    tail[kind].put(username, payload);
+                }
+            }
+        };
+
+        // Start from the newest readable snapshot, then replay only the journal tail
+        long baseGeneration = 0;
+        List<Long> snapshots = Snapshot.listSnapshots(dataDirectory);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try {
+                base = Snapshot.open(dataDirectory, snapshots.get(i), KIND_COUNT);
+                baseGeneration = snapshots.get(i);
+                break;
+            } catch (IOException e) {
+                System.err.println("Skipping unreadable snapshot " + snapshots.get(i) + ": " + e.getMessage());
+            }
+        }
+
+        int replayed = 0;
+        long lastGeneration = baseGeneration - 1;
+        for (Long segment : Snapshot.listJournals(dataDirectory)) {
+            if (segment < baseGeneration) {
+                continue;
+            }
+            Journal segmentJournal = new Journal(Snapshot.journalPath(dataDirectory, segment), GROUP_COMMIT_MILLIS);
+            replayed += segmentJournal.replay(loader);
+            segmentJournal.close();
+            lastGeneration = segment;
+        }
+
+        generation = lastGeneration + 1;
+        journal = new Journal(Snapshot.journalPath(dataDirectory, generation), GROUP_COMMIT_MILLIS);
+        journal.start();
+        recordsSinceSnapshot = replayed;
+
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "fitpro-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        snapshotExecutor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                takeSnapshot();
+            }
+        }, SNAPSHOT_INTERVAL_MINUTES, SNAPSHOT_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        if (recordsSinceSnapshot >= SNAPSHOT_EVERY_RECORDS) {
+            requestSnapshot();
+        }
+    }
+
+    private void requestSnapshot() {
+        snapshotExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                takeSnapshot();
+            }
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<String, byte[]>[] newRecordMaps() {
+        Map<String, byte[]>[] maps = new Map[KIND_COUNT];
+        for (int kind = 0; kind < KIND_COUNT; kind++) {
+            maps[kind] = new HashMap<String, byte[]>();
+        }
+        return maps;
+    }
+
+    /**
+     * Copies the records journaled since the last snapshot, rolls the journal over to a
+     * new generation and merges the copy with the previous snapshot in the background.
+     * Once the new snapshot is durable it replaces the old one, and the journal
+     * segments it covers are deleted.
+     */
+    private void takeSnapshot() {
+        Map<String, byte[]>[] copy = newRecordMaps();
+        Snapshot previous;
+        long snapshotGeneration;
+        synchronized (this) {
+            if (journal == null || snapshotInProgress || recordsSinceSnapshot == 0) {
+                return;
+            }
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                copy[kind].putAll(tail[kind]);
+            }
+            previous = base;
+
+            snapshotGeneration = generation + 1;
+            try {
+                Journal next = new Journal(Snapshot.journalPath(dataDirectory, snapshotGeneration), GROUP_COMMIT_MILLIS);
+                journal.close();
+                journal = next;
+                journal.start();
+            } catch (IOException e) {
+                System.err.println("Failed to roll journal: " + e.getMessage());
+                return;
+            }
+            generation = snapshotGeneration;
+            recordsSinceSnapshot = 0;
+            snapshotInProgress = true;
+        }
+
+        try {
+            Snapshot.write(dataDirectory, snapshotGeneration, previous, copy);
+            Snapshot written = Snapshot.open(dataDirectory, snapshotGeneration, KIND_COUNT);
+            synchronized (this) {
+                if (journal == null) {
+                    written.close();
+                    return;
+                }
+                base = written;
+                // Keep only records that changed again while the snapshot was written
+                for (int kind = 0; kind < KIND_COUNT; kind++) {
+                    for (Map.Entry<String, byte[]> entry : copy[kind].entrySet()) {
+                        if (tail[kind].get(entry.getKey()) == entry.getValue()) {
+                            tail[kind].remove(entry.getKey());
+                        }
+                    }
+                }
+            }
+            if (previous != null) {
+                previous.close();
+            }
+            Snapshot.deleteBefore(dataDirectory, snapshotGeneration);
+        } catch (IOException e) {
+            System.err.println("Failed to write snapshot: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                snapshotInProgress = false;
+            }
+        }
+    }
+
+    @Override
+    public synchronized byte[] get(byte kind, String username) throws IOException {
+        byte[] value = tail[kind].get(username);
+        if (value == null && base != null) {
+            value = base.read(kind, username);
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized void put(byte kind, String username, byte[] value) throws IOException {
+        if (journal == null) {
+            throw new IOException("Journal is closed");
+        }
+        journal.append(kind, username, value);
+        tail[kind].put(username, value);
+        recordsSinceSnapshot++;
+        if (recordsSinceSnapshot == SNAPSHOT_EVERY_RECORDS) {
+            requestSnapshot();
+        }
+    }
+
+    @Override
+    public void scan(byte kind, Journal.RecordHandler handler) throws IOException {
+        Set<String> usernames;
+        synchronized (this) {
+            usernames = new HashSet<String>(tail[kind].keySet());
+            if (base != null) {
+                usernames.addAll(base.usernames(kind));
+            }
+        }
+        for (String username : usernames) {
+            byte[] value = get(kind, username);
+            if (value != null) {
+                handler.apply(kind, username, value);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        Journal current;
+        synchronized (this) {
+            current = journal;
+        }
+        if (current != null) {
+            current.sync();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        snapshotExecutor.shutdownNow();
+        try {
+            journal.close();
+            if (base != null) {
+                base.close();
+            }
+        } finally {
+            journal = null;
+            base = null;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package wellnessapp.utils;
+
+import wellnessapp.models.MealCatalog;
+import wellnessapp.models.MealItem;
+import wellnessapp.models.Nutrients;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Food catalog read from a memory-mapped file. Items are stored sorted by name within
+ * each category, followed by a table of record offsets, so opening the file only reads
+ * the small category table and an item is decoded when it is asked for. Lookups by
+ * name within a category are binary searches over the mapping.
+ *
+ * Layout: a 32-byte header (MAGIC, VERSION, item count, category count, category table
+ * offset, offset index position), the item records, the category table (name, first
+ * item, item count) and one int offset per item. Strings are a short length followed
+ * by UTF-8 bytes; an item record is name, serving size, int calories and one float
+ * per nutrient.
+ */
+public class MappedFoodCatalog implements MealCatalog {
+    private static final int MAGIC = 0x46504643;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    // Two empty strings, the calories and the nutrients
+    private static final int MIN_RECORD_SIZE = 2 + 2 + 4 + Nutrients.COUNT * 4;
+
+    private final MappedByteBuffer map;
+    private final int itemCount;
+    private final int tablePosition;
+    private final int indexPosition;
+    private final List<String> categoryNames;
+    private final int[] categoryFirst;
+    private final int[] categoryCount;
+
+    private MappedFoodCatalog(MappedByteBuffer map) throws IOException {
+        this.map = map;
+        if (map.capacity() < HEADER_SIZE || map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+            throw new IOException("Not a food catalog file");
+        }
+        this.itemCount = map.getInt(8);
+        int categories = map.getInt(12);
+        this.tablePosition = map.getInt(16);
+        this.indexPosition = map.getInt(20);
+        if (itemCount < 0 || categories < 0 || tablePosition < HEADER_SIZE || indexPosition < tablePosition
+                || (long) indexPosition + (long) itemCount * 4 > map.capacity()
+                || (long) categories * 10 > indexPosition - tablePosition) {
+            throw new IOException("Corrupt food catalog header");
+        }
+
+        // The category table lies between the records and the offset index
+        String[] names = new String[categories];
+        this.categoryFirst = new int[categories];
+        this.categoryCount = new int[categories];
+        int position = tablePosition;
+        for (int i = 0; i < categories; i++) {
+            names[i] = readString(position, indexPosition);
+            position += 2 + stringLength(position);
+            if (position > indexPosition - 8) {
+                throw new IOException("Corrupt food catalog category table");
+            }
+            categoryFirst[i] = map.getInt(position);
+            categoryCount[i] = map.getInt(position + 4);
+            if (categoryFirst[i] < 0 || categoryCount[i] < 0
+                    || (long) categoryFirst[i] + categoryCount[i] > itemCount) {
+                throw new IOException("Corrupt food catalog category " + names[i]);
+            }
+            position += 8;
+        }
+        this.categoryNames = Collections.unmodifiableList(Arrays.asList(names));
+
+        // Records are written in item order, so their offsets must ascend by at least a
+        // record each and end before the category table; the records themselves are
+        // only read when an item is asked for
+        int next = HEADER_SIZE;
+        for (int id = 0; id < itemCount; id++) {
+            int offset = map.getInt(indexPosition + id * 4);
+            if (offset < next || offset > tablePosition - MIN_RECORD_SIZE) {
+                throw new IOException("Corrupt food catalog offset of item " + id);
+            }
+            next = offset + MIN_RECORD_SIZE;
+        }
+    }
+
+    public static MappedFoodCatalog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Food catalog too large: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            return new MappedFoodCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes a catalog file with the categories of the source in their order and the
+     * items of each category sorted by name.
+     */
+    public static void write(Path path, MealCatalog source) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        boolean written = false;
+        try {
+            write(path, temp, source);
+            written = true;
+        } finally {
+            if (!written) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private static void write(Path path, Path temp, MealCatalog source) throws IOException {
+        List<String> categories = source.getCategories();
+        List<MealItem> items = new ArrayList<MealItem>();
+        int[] first = new int[categories.size()];
+        int[] count = new int[categories.size()];
+        for (int c = 0; c < categories.size(); c++) {
+            Map<String, MealItem> categoryItems = source.getItems(categories.get(c));
+            List<String> names = new ArrayList<String>(categoryItems.keySet());
+            Collections.sort(names);
+            first[c] = items.size();
+            count[c] = names.size();
+            for (String name : names) {
+                items.add(categoryItems.get(name));
+            }
+        }
+
+        int[] offsets = new int[items.size()];
+        OutputStream file = Files.newOutputStream(temp);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+        try {
+            out.write(new byte[HEADER_SIZE]);
+            for (int i = 0; i < items.size(); i++) {
+                MealItem item = items.get(i);
+                offsets[i] = position(out);
+                writeString(out, item.getName());
+                writeString(out, item.getServingSize());
+                out.writeInt(item.getCalories());
+                for (int n = 0; n < Nutrients.COUNT; n++) {
+                    out.writeFloat((float) item.getNutrient(n));
+                }
+            }
+            int tablePosition = position(out);
+            for (int c = 0; c < categories.size(); c++) {
+                writeString(out, categories.get(c));
+                out.writeInt(first[c]);
+                out.writeInt(count[c]);
+            }
+            int indexPosition = position(out);
+            for (int offset : offsets) {
+                out.writeInt(offset);
+            }
+            out.flush();
+
+            FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putInt(items.size()).putInt(categories.size())
+                        .putInt(tablePosition).putInt(indexPosition);
+                header.clear();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+        } finally {
+            out.close();
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public int size() {
+        return itemCount;
+    }
+
+    @Override
+    public List<String> getCategories() {
+        return categoryNames;
+    }
+
+    @Override
+    public Map<String, MealItem> getItems(String category) {
+        int index = categoryNames.indexOf(category);
+        return index < 0 ? null : new CategoryView(categoryFirst[index], categoryCount[index]);
+    }
+
+    /**
+     * Decodes an item. Throws UncheckedIOException if its record is corrupt, as records
+     * are only checked when they are read.
+     */
+    @Override
+    public MealItem getItem(int id) {
+        int position = recordPosition(id);
+        int end = recordEnd(id);
+        try {
+            String name = readString(position, end);
+            position += 2 + stringLength(position);
+            String servingSize = readString(position, end);
+            position += 2 + stringLength(position);
+            if (position > end - 4 - Nutrients.COUNT * 4) {
+                throw new IOException("Corrupt food catalog record of item " + id);
+            }
+            int calories = map.getInt(position);
+            double[] nutrients = new double[Nutrients.COUNT];
+            for (int n = 0; n < Nutrients.COUNT; n++) {
+                nutrients[n] = map.getFloat(position + 4 + n * 4);
+            }
+            return new MealItem(name, servingSize, calories, nutrients);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String getItemName(int id) {
+        try {
+            return readString(recordPosition(id), recordEnd(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String getItemCategory(int id) {
+        for (int i = 0; i < categoryFirst.length; i++) {
+            if (id >= categoryFirst[i] && id < categoryFirst[i] + categoryCount[i]) {
+                return categoryNames.get(i);
+            }
+        }
+        return null;
+    }
+
+    private int recordPosition(int id) {
+        if (id < 0 || id >= itemCount) {
+            throw new IndexOutOfBoundsException("Item " + id + " of " + itemCount);
+        }
+        return map.getInt(indexPosition + id * 4);
+    }
+
+    private int recordEnd(int id) {
+        return id + 1 < itemCount ? map.getInt(indexPosition + (id + 1) * 4) : tablePosition;
+    }
+
+    private int stringLength(int position) {
+        return map.getShort(position) & 0xFFFF;
+    }
+
+    // Reads a string that must end by limit
+    private String readString(int position, int limit) throws IOException {
+        if (position > limit - 2 || stringLength(position) > limit - position - 2) {
+            throw new IOException("Corrupt food catalog string at " + position);
+        }
+        byte[] bytes = new byte[stringLength(position)];
+        // A view, as the shared mapping's position must not move under other readers
+        ByteBuffer view = map.duplicate();
+        view.position(position + 2);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // DataOutputStream counts the bytes written and stops at Integer.MAX_VALUE
+    private static int position(DataOutputStream out) throws IOException {
+        if (out.size() == Integer.MAX_VALUE) {
+            throw new IOException("Food catalog larger than 2 GB");
+        }
+        return out.size();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IOException("String too long for food catalog: " + value.length() + " chars");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    // Items of one category; names are sorted, so get() is a binary search
+    private class CategoryView extends AbstractMap<String, MealItem> {
+        private final int first;
+        private final int count;
+
+        CategoryView(int first, int count) {
+            this.first = first;
+            this.count = count;
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(key) >= 0;
+        }
+
+        @Override
+        public MealItem get(Object key) {
+            int id = find(key);
+            return id < 0 ? null : getItem(id);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new AbstractSet<String>() {
+                @Override
+                public int size() {
+                    return count;
+                }
+
+                @Override
+                public boolean contains(Object key) {
+                    return find(key) >= 0;
+                }
+
+                @Override
+                public Iterator<String> iterator() {
+                    return new IdIterator<String>() {
+                        @Override
+                        String valueOf(int id) {
+                            return getItemName(id);
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public Set<Map.Entry<String, MealItem>> entrySet() {
+            return new AbstractSet<Map.Entry<String, MealItem>>() {
+                @Override
+                public int size() {
+                    return count;
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, MealItem>> iterator() {
+                    return new IdIterator<Map.Entry<String, MealItem>>() {
+                        @Override
+                        Map.Entry<String, MealItem> valueOf(int id) {
+                            MealItem item = getItem(id);
+                            return new AbstractMap.SimpleImmutableEntry<String, MealItem>(item.getName(), item);
+                        }
+                    };
+                }
+            };
+        }
+
+        private int find(Object key) {
+            if (!(key instanceof String)) {
+                return -1;
+            }
+            int low = first;
+            int high = first + count - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int compared = getItemName(middle).compareTo((String) key);
+                if (compared < 0) {
+                    low = middle + 1;
+                } else if (compared > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        private abstract class IdIterator<T> implements Iterator<T> {
+            private int next = first;
+
+            abstract T valueOf(int id);
+
+            @Override
+            public boolean hasNext() {
+                return next < first + count;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return valueOf(next++);
+            }
+        }
+    }
+}
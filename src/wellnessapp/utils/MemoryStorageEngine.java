@@ -0,0 +1,53 @@
+package wellnessapp.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps records on the heap only. Nothing survives a restart, which suits demos and
+ * throwaway kiosk sessions.
+ */
+public class MemoryStorageEngine implements StorageEngine {
+    private final Map<String, byte[]>[] records;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MemoryStorageEngine() {
+        records = new Map[KIND_COUNT];
+        for (int kind = 0; kind < KIND_COUNT; kind++) {
+            records[kind] = new HashMap<String, byte[]>();
+        }
+    }
+
+    @Override
+    public void open() {
+    }
+
+    @Override
+    public synchronized byte[] get(byte kind, String username) {
+        return records[kind].get(username);
+    }
+
+    @Override
+    public synchronized void put(byte kind, String username, byte[] value) {
+        records[kind].put(username, value);
+    }
+
+    @Override
+    public void scan(byte kind, Journal.RecordHandler handler) {
+        Map<String, byte[]> copy;
+        synchronized (this) {
+            copy = new HashMap<String, byte[]>(records[kind]);
+        }
+        for (Map.Entry<String, byte[]> entry : copy.entrySet()) {
+            handler.apply(kind, entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,103 @@
+package wellnessapp.utils;
+
+import wellnessapp.exceptions.DecimalValueException;
+import wellnessapp.exceptions.InvalidInputException;
+import wellnessapp.exceptions.NegativeValueException;
+import wellnessapp.exceptions.NumericValueException;
+import wellnessapp.exceptions.SpecialCharacterException;
+import wellnessapp.exceptions.ZeroValueException;
+
+/**
+ * Messages and exceptions Validator reports for one field. Each message is built the
+ * first time it is needed. While stack traces are off an exception holds nothing but
+ * its message, so the same instance is thrown for every rejection of its kind;
+ * otherwise a new one is created each time.
+ */
+class Rejections {
+    private final String fieldName;
+    private final String[] messages = new String[Validator.MESSAGE_SLOTS];
+    private final InvalidInputException[] invalid = new InvalidInputException[Validator.MESSAGE_SLOTS];
+    private final SpecialCharacterException[] special = new SpecialCharacterException[Validator.MESSAGE_SLOTS];
+    private DecimalValueException decimal;
+    private NegativeValueException negative;
+    private ZeroValueException zero;
+    private NumericValueException numeric;
+    
+    Rejections(String fieldName) {
+        this.fieldName = fieldName;
+    }
+    
+    // Synchronized as the exception classes do not publish their message safely
+    synchronized String message(int slot) {
+        String message = messages[slot];
+        if (message == null) {
+            message = fieldName + Validator.MESSAGE_TEMPLATES[slot];
+            messages[slot] = message;
+        }
+        return message;
+    }
+    
+    synchronized InvalidInputException invalid(int slot) {
+        if (Validator.hasStackTraces()) {
+            return new InvalidInputException(message(slot));
+        }
+        InvalidInputException exception = invalid[slot];
+        if (exception == null) {
+            exception = new InvalidInputException(message(slot), false);
+            invalid[slot] = exception;
+        }
+        return exception;
+    }
+    
+    synchronized SpecialCharacterException special(int slot) {
+        if (Validator.hasStackTraces()) {
+            return new SpecialCharacterException(message(slot));
+        }
+        SpecialCharacterException exception = special[slot];
+        if (exception == null) {
+            exception = new SpecialCharacterException(message(slot), false);
+            special[slot] = exception;
+        }
+        return exception;
+    }
+    
+    synchronized DecimalValueException decimal() {
+        if (Validator.hasStackTraces()) {
+            return new DecimalValueException(message(Validator.DECIMAL));
+        }
+        if (decimal == null) {
+            decimal = new DecimalValueException(message(Validator.DECIMAL), false);
+        }
+        return decimal;
+    }
+    
+    synchronized NegativeValueException negative() {
+        if (Validator.hasStackTraces()) {
+            return new NegativeValueException(message(Validator.NEGATIVE));
+        }
+        if (negative == null) {
+            negative = new NegativeValueException(message(Validator.NEGATIVE), false);
+        }
+        return negative;
+    }
+    
+    synchronized ZeroValueException zero() {
+        if (Validator.hasStackTraces()) {
+            return new ZeroValueException(message(Validator.ZERO));
+        }
+        if (zero == null) {
+            zero = new ZeroValueException(message(Validator.ZERO), false);
+        }
+        return zero;
+    }
+    
+    synchronized NumericValueException numeric() {
+        if (Validator.hasStackTraces()) {
+            return new NumericValueException(message(Validator.CONTAINS_DIGIT));
+        }
+        if (numeric == null) {
+            numeric = new NumericValueException(message(Validator.CONTAINS_DIGIT), false);
+        }
+        return numeric;
+    }
+}
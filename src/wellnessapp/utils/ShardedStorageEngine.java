@@ -0,0 +1,135 @@
+package wellnessapp.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One file per user and record kind, spread over 256 shard directories by username
+ * hash. Point reads and writes touch a single small file, so cost does not grow with
+ * the number of registered users.
+ */
+public class ShardedStorageEngine implements StorageEngine {
+    private static final int SHARD_COUNT = 256;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path root;
+
+    public ShardedStorageEngine(Path dataDirectory) {
+        this.root = dataDirectory.resolve("shards");
+    }
+
+    @Override
+    public void open() throws IOException {
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public byte[] get(byte kind, String username) throws IOException {
+        try {
+            return Files.readAllBytes(recordPath(kind, username));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the record next to its target, forces it and renames it into place so a
+     * reader never sees a partial file.
+     */
+    @Override
+    public void put(byte kind, String username, byte[] value) throws IOException {
+        Path target = recordPath(kind, username);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(value);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void scan(byte kind, Journal.RecordHandler handler) throws IOException {
+        String suffix = "." + kind;
+        DirectoryStream<Path> shards = Files.newDirectoryStream(root);
+        try {
+            for (Path shard : shards) {
+                if (!Files.isDirectory(shard)) {
+                    continue;
+                }
+                DirectoryStream<Path> records = Files.newDirectoryStream(shard, "*" + suffix);
+                try {
+                    for (Path record : records) {
+                        String name = record.getFileName().toString();
+                        String username = decodeName(name.substring(0, name.length() - suffix.length()));
+                        if (username != null) {
+                            handler.apply(kind, username, Files.readAllBytes(record));
+                        }
+                    }
+                } finally {
+                    records.close();
+                }
+            }
+        } finally {
+            shards.close();
+        }
+    }
+
+    @Override
+    public void flush() {
+        // Every put is already forced before it returns
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private Path recordPath(byte kind, String username) {
+        int shard = (username.hashCode() & 0x7FFFFFFF) % SHARD_COUNT;
+        String shardName = "" + HEX[shard >>> 4] + HEX[shard & 0xF];
+        return root.resolve(shardName).resolve(encodeName(username) + "." + kind);
+    }
+
+    // Usernames are hex encoded so any character is safe in a file name
+    static String encodeName(String username) {
+        byte[] bytes = username.getBytes(StandardCharsets.UTF_8);
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >>> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static String decodeName(String encoded) {
+        if (encoded.length() % 2 != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[encoded.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(encoded.charAt(i * 2), 16);
+            int low = Character.digit(encoded.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
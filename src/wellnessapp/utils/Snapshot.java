@@ -0,0 +1,289 @@
+package wellnessapp.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Point-in-time image of every stored record, named after the journal generation
+ * that follows it. A snapshot of generation N plus journal segments N and later
+ * rebuild the full state.
+ * The file holds the raw payloads followed by an index of (kind, username) to
+ * offset, length and checksum, so opening a snapshot only reads the index and
+ * payloads are fetched one user at a time.
+ */
+public class Snapshot {
+    private static final int MAGIC = 0x46505332;
+    private static final int HEADER_SIZE = 12;
+    private static final int FOOTER_SIZE = 20;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    private static class Entry {
+        long offset;
+        int length;
+        int crc;
+    }
+
+    private final long generation;
+    private final FileChannel channel;
+    private final Map<String, Entry>[] index;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Snapshot(long generation, FileChannel channel, int kindCount) {
+        this.generation = generation;
+        this.channel = channel;
+        this.index = new Map[kindCount];
+        for (int kind = 0; kind < kindCount; kind++) {
+            index[kind] = new HashMap<String, Entry>();
+        }
+    }
+
+    public static Path snapshotPath(Path directory, long generation) {
+        return directory.resolve(SNAPSHOT_PREFIX + generation + SNAPSHOT_SUFFIX);
+    }
+
+    public static Path journalPath(Path directory, long generation) {
+        return directory.resolve(JOURNAL_PREFIX + generation + JOURNAL_SUFFIX);
+    }
+
+    public static List<Long> listSnapshots(Path directory) throws IOException {
+        return listGenerations(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    }
+
+    public static List<Long> listJournals(Path directory) throws IOException {
+        return listGenerations(directory, JOURNAL_PREFIX, JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Opens a snapshot and loads its index. Payloads stay on disk until {@link #read}.
+     */
+    public static Snapshot open(Path directory, long generation, int kindCount) throws IOException {
+        FileChannel channel = FileChannel.open(snapshotPath(directory, generation), StandardOpenOption.READ);
+        Snapshot snapshot = new Snapshot(generation, channel, kindCount);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getLong() != generation) {
+                throw new IOException("Not a snapshot for generation " + generation);
+            }
+            snapshot.loadIndex();
+            return snapshot;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public Set<String> usernames(byte kind) {
+        return Collections.unmodifiableSet(index[kind].keySet());
+    }
+
+    public boolean contains(byte kind, String username) {
+        return index[kind].containsKey(username);
+    }
+
+    /**
+     * Reads one payload, or returns null if the snapshot has no record for the user.
+     */
+    public byte[] read(byte kind, String username) throws IOException {
+        Entry entry = index[kind].get(username);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        readFully(channel, buffer, entry.offset);
+        CRC32 check = new CRC32();
+        check.update(buffer.array(), 0, entry.length);
+        if ((int) check.getValue() != entry.crc) {
+            throw new IOException("Checksum mismatch in snapshot record for " + username);
+        }
+        return buffer.array();
+    }
+
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void loadIndex() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + FOOTER_SIZE) {
+            throw new IOException("Truncated snapshot");
+        }
+        ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+        readFully(channel, footer, size - FOOTER_SIZE);
+        footer.flip();
+        long indexOffset = footer.getLong();
+        int indexLength = footer.getInt();
+        int indexCrc = footer.getInt();
+        if (footer.getInt() != MAGIC || indexOffset < HEADER_SIZE || indexOffset + indexLength != size - FOOTER_SIZE) {
+            throw new IOException("Truncated snapshot");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(indexLength);
+        readFully(channel, buffer, indexOffset);
+        CRC32 check = new CRC32();
+        check.update(buffer.array(), 0, indexLength);
+        if ((int) check.getValue() != indexCrc) {
+            throw new IOException("Snapshot index checksum mismatch");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            byte kind = in.readByte();
+            String username = in.readUTF();
+            Entry entry = new Entry();
+            entry.offset = in.readLong();
+            entry.length = in.readInt();
+            entry.crc = in.readInt();
+            if (kind <= 0 || kind >= index.length || entry.offset < HEADER_SIZE || entry.offset + entry.length > indexOffset) {
+                throw new IOException("Corrupt snapshot index");
+            }
+            index[kind].put(username, entry);
+        }
+    }
+
+    /**
+     * Writes every record of the previous snapshot, overridden by the given changes, to
+     * a temporary file, forces it to disk and atomically renames it into place, so a
+     * crash never leaves a half-written snapshot behind. The temporary file is removed
+     * if anything fails.
+     */
+    public static void write(Path directory, long generation, Snapshot previous, Map<String, byte[]>[] changesByKind) throws IOException {
+        Path target = snapshotPath(directory, generation);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(indexBytes);
+        int count = 0;
+        CRC32 check = new CRC32();
+
+        boolean written = false;
+        FileOutputStream file = new FileOutputStream(temp.toFile());
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeLong(generation);
+            long offset = HEADER_SIZE;
+
+            for (int kind = 1; kind < changesByKind.length; kind++) {
+                Map<String, byte[]> changes = changesByKind[kind];
+                Set<String> usernames = new HashSet<String>(changes.keySet());
+                if (previous != null && kind < previous.index.length) {
+                    usernames.addAll(previous.index[kind].keySet());
+                }
+                for (String username : usernames) {
+                    byte[] payload = changes.get(username);
+                    if (payload == null) {
+                        payload = previous.read((byte) kind, username);
+                    }
+                    out.write(payload);
+                    check.reset();
+                    check.update(payload, 0, payload.length);
+
+                    indexOut.writeByte(kind);
+                    indexOut.writeUTF(username);
+                    indexOut.writeLong(offset);
+                    indexOut.writeInt(payload.length);
+                    indexOut.writeInt((int) check.getValue());
+                    offset += payload.length;
+                    count++;
+                }
+            }
+
+            indexOut.flush();
+            byte[] indexBody = indexBytes.toByteArray();
+            byte[] indexData = new byte[4 + indexBody.length];
+            ByteBuffer.wrap(indexData).putInt(count).put(indexBody);
+            check.reset();
+            check.update(indexData, 0, indexData.length);
+
+            out.write(indexData);
+            out.writeLong(offset);
+            out.writeInt(indexData.length);
+            out.writeInt((int) check.getValue());
+            out.writeInt(MAGIC);
+            out.flush();
+            file.getChannel().force(true);
+            file.close();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            written = true;
+        } finally {
+            if (!written) {
+                file.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Removes snapshots and journal segments that the given generation supersedes.
+     */
+    public static void deleteBefore(Path directory, long generation) throws IOException {
+        for (Long older : listSnapshots(directory)) {
+            if (older < generation) {
+                Files.deleteIfExists(snapshotPath(directory, older));
+            }
+        }
+        for (Long older : listJournals(directory)) {
+            if (older < generation) {
+                Files.deleteIfExists(journalPath(directory, older));
+            }
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of snapshot");
+            }
+        }
+    }
+
+    private static List<Long> listGenerations(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> generations = new ArrayList<Long>();
+        DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + suffix);
+        try {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        } finally {
+            stream.close();
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+}
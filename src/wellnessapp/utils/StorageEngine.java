@@ -0,0 +1,38 @@
+package wellnessapp.utils;
+
+import java.io.IOException;
+
+/**
+ * Persistent store of encoded per-user records, addressed by record kind and username.
+ * FileHandler picks an implementation at startup and does all encoding itself.
+ */
+public interface StorageEngine {
+    byte KIND_USER = 1;
+    byte KIND_FITNESS = 2;
+    byte KIND_MEAL = 3;
+    byte KIND_HABIT = 4;
+    byte KIND_MINDFULNESS = 5;
+
+    int KIND_COUNT = 6;
+
+    void open() throws IOException;
+
+    /**
+     * Returns the latest record stored for the user, or null if there is none.
+     */
+    byte[] get(byte kind, String username) throws IOException;
+
+    void put(byte kind, String username, byte[] value) throws IOException;
+
+    /**
+     * Visits the latest record of every user that has one of the given kind.
+     */
+    void scan(byte kind, Journal.RecordHandler handler) throws IOException;
+
+    /**
+     * Blocks until every record put so far is durable.
+     */
+    void flush() throws IOException;
+
+    void close() throws IOException;
+}
@@ -0,0 +1,152 @@
+package wellnessapp.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of decoded per-user data. A user's records of all
+ * kinds are kept and evicted together as one bundle. Everything in the cache has
+ * already been handed to the storage engine, so an evicted bundle is simply read back
+ * from storage on the user's next login.
+ * Users are spread over independently locked segments by username hash, and each
+ * segment evicts on its own, so threads working for different users rarely contend.
+ */
+public class UserDataCache {
+    private static final int MAX_SEGMENTS = 16;
+    // Smaller segments would evict a user while other segments still have room
+    private static final int MIN_SEGMENT_CAPACITY = 8;
+
+    private static class Bundle {
+        final Object[] records = new Object[StorageEngine.KIND_COUNT];
+        // Bit per kind, set once the kind was looked up even if the user has no record
+        int loadedKinds;
+    }
+
+    private static class Segment extends LinkedHashMap<String, Bundle> {
+        private static final long serialVersionUID = 1L;
+
+        final int capacity;
+        long hits;
+        long misses;
+        long evictions;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bundle> eldest) {
+            if (size() > capacity) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final Segment[] segments;
+
+    public UserDataCache(int capacity) {
+        capacity = Math.max(1, capacity);
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, capacity / MIN_SEGMENT_CAPACITY)));
+        int perSegment = (capacity + segmentCount - 1) / segmentCount;
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Returns true and marks the user as recently used if the record kind is cached.
+     * Counts a hit or a miss.
+     */
+    public boolean contains(byte kind, String username) {
+        Segment segment = segmentFor(username);
+        synchronized (segment) {
+            Bundle bundle = segment.get(username);
+            if (bundle != null && (bundle.loadedKinds & (1 << kind)) != 0) {
+                segment.hits++;
+                return true;
+            }
+            segment.misses++;
+            return false;
+        }
+    }
+
+    public Object get(byte kind, String username) {
+        Segment segment = segmentFor(username);
+        synchronized (segment) {
+            Bundle bundle = segment.get(username);
+            return bundle == null ? null : bundle.records[kind];
+        }
+    }
+
+    public void put(byte kind, String username, Object value) {
+        Segment segment = segmentFor(username);
+        synchronized (segment) {
+            Bundle bundle = segment.get(username);
+            if (bundle == null) {
+                bundle = new Bundle();
+                segment.put(username, bundle);
+            }
+            bundle.records[kind] = value;
+            bundle.loadedKinds |= 1 << kind;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return segments.length * segments[0].capacity;
+    }
+
+    public long getHitCount() {
+        long hits = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                hits += segment.hits;
+            }
+        }
+        return hits;
+    }
+
+    public long getMissCount() {
+        long misses = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                misses += segment.misses;
+            }
+        }
+        return misses;
+    }
+
+    public long getEvictionCount() {
+        long evictions = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                evictions += segment.evictions;
+            }
+        }
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return "UserDataCache{size=" + size() + ", capacity=" + getCapacity() + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+    }
+
+    private Segment segmentFor(String username) {
+        int hash = username.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+}
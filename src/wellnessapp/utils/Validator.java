@@ -6,171 +6,673 @@ import wellnessapp.exceptions.DecimalValueException;
 import wellnessapp.exceptions.NumericValueException;
 import wellnessapp.exceptions.SpecialCharacterException;
 import wellnessapp.exceptions.ZeroValueException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 public class Validator {
+    /** Returned by scanInt when the text is not an int. */
+    public static final long NOT_AN_INT = Long.MIN_VALUE;
+    
+    // Result codes of the check methods. A status packs the code with the index of the
+    // offending character in the input; VALID is always the status 0.
+    public static final int VALID = 0;
+    public static final int EMPTY = 1;
+    public static final int DECIMAL = 2;
+    public static final int NOT_AN_INTEGER = 3;
+    public static final int NOT_A_NUMBER = 4;
+    public static final int NEGATIVE = 5;
+    public static final int ZERO = 6;
+    public static final int CONTAINS_DIGIT = 7;
+    public static final int SPECIAL_CHARACTER = 8;
+    private static final int CODE_BITS = 4;
+    private static final int CODE_MASK = (1 << CODE_BITS) - 1;
+    
+    // Message after the field name for each result code, special characters having one per text rule
+    static final String[] MESSAGE_TEMPLATES = {
+        " is valid",
+        " cannot be empty",
+        " cannot have decimal values. Please enter a whole number.",
+        " must be a valid integer",
+        " must be a valid number",
+        " cannot be negative. Please enter a positive value.",
+        " cannot be zero. Please enter a value greater than zero.",
+        " cannot contain numbers. Please enter only alphabets.",
+        " cannot contain special characters. Please enter only alphabets.",
+        " cannot contain special characters. Only alphabets, numbers, and underscore are allowed.",
+        " cannot contain special characters. Only alphabets and numbers are allowed."
+    };
+    static final int MESSAGE_SLOTS = MESSAGE_TEMPLATES.length;
+    // Field names are a handful of constants; past this many the messages are not cached
+    private static final int MAX_CACHED_FIELDS = 256;
+    private static final ConcurrentHashMap<String, Rejections> REJECTIONS = new ConcurrentHashMap<String, Rejections>();
+    private static volatile boolean stackTraces = true;
+    
+    // Character classes of the ASCII range, replacing the regular expressions [a-zA-Z], \d and \s
+    private static final int LETTER = 1;
+    private static final int DIGIT = 2;
+    private static final int SPACE = 4;
+    private static final int UNDERSCORE = 8;
+    private static final byte[] CLASSES = new byte[128];
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = LETTER;
+            CLASSES[c - 'a' + 'A'] = LETTER;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CLASSES[c] = DIGIT;
+        }
+        CLASSES[' '] = SPACE;
+        CLASSES['\t'] = SPACE;
+        CLASSES['\n'] = SPACE;
+        CLASSES[0x0B] = SPACE;
+        CLASSES['\f'] = SPACE;
+        CLASSES['\r'] = SPACE;
+        CLASSES['_'] = UNDERSCORE;
+    }
+    
+    // Text rules of checkText, and the characters each one allows
+    public static final int NAME = 0;
+    public static final int USERNAME = 1;
+    public static final int ALPHABETS_AND_NUMBERS = 2;
+    private static final int[] RULE_CHARS = {LETTER | SPACE, LETTER | DIGIT | UNDERSCORE, LETTER | DIGIT | SPACE};
+    
+    // Every power of ten that is exact as a double
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // Up to 15 digits the mantissa is an exact double
+    private static final int MAX_FAST_DIGITS = 15;
+    // Inputs one task of a parallel bulk check handles without splitting further
+    private static final int BULK_CHUNK = 4096;
     
     public static int parseStepsOrAge(String input, String fieldName) throws DecimalValueException, NegativeValueException, InvalidInputException {
-        if (input == null || input.trim().isEmpty()) {
-            throw new InvalidInputException(fieldName + " cannot be empty");
+        return parsePositiveInteger(input, fieldName);
+    }
+    
+    public static int parseAge(String input, String fieldName) throws DecimalValueException, NegativeValueException, ZeroValueException, InvalidInputException {
+        long result = wholeNumber(input, false);
+        if (result >= 0) {
+            return (int) result;
         }
-        
-        String trimmed = input.trim();
-        
-        if (trimmed.contains(".")) {
-            throw new DecimalValueException(fieldName + " cannot have decimal values. Please enter a whole number.");
+        int status = (int) -result;
+        switch (codeOf(status)) {
+            case DECIMAL:
+                throw rejections(fieldName).decimal();
+            case NEGATIVE:
+                throw rejections(fieldName).negative();
+            case ZERO:
+                throw rejections(fieldName).zero();
+            default:
+                throw rejections(fieldName).invalid(messageSlot(status, -1));
         }
-        
-        try {
-            int value = Integer.parseInt(trimmed);
-            if (value < 0) {
-                throw new NegativeValueException(fieldName + " cannot be negative. Please enter a positive value.");
+    }
+    
+    public static int parsePositiveInteger(String input, String fieldName) throws DecimalValueException, NegativeValueException, InvalidInputException {
+        long result = wholeNumber(input, true);
+        if (result >= 0) {
+            return (int) result;
+        }
+        int status = (int) -result;
+        switch (codeOf(status)) {
+            case DECIMAL:
+                throw rejections(fieldName).decimal();
+            case NEGATIVE:
+                throw rejections(fieldName).negative();
+            default:
+                throw rejections(fieldName).invalid(messageSlot(status, -1));
+        }
+    }
+    
+    public static double parsePositiveDouble(String input, String fieldName) throws NegativeValueException, InvalidInputException {
+        double result = decimal(input, true);
+        if (!(result < 0)) {
+            return result;
+        }
+        int status = (int) -result;
+        switch (codeOf(status)) {
+            case NEGATIVE:
+                throw rejections(fieldName).negative();
+            default:
+                throw rejections(fieldName).invalid(messageSlot(status, -1));
+        }
+    }
+    
+    public static double parsePositiveDoubleNoZero(String input, String fieldName) throws NegativeValueException, ZeroValueException, InvalidInputException {
+        double result = decimal(input, false);
+        if (!(result < 0)) {
+            return result;
+        }
+        int status = (int) -result;
+        switch (codeOf(status)) {
+            case NEGATIVE:
+                throw rejections(fieldName).negative();
+            case ZERO:
+                throw rejections(fieldName).zero();
+            default:
+                throw rejections(fieldName).invalid(messageSlot(status, -1));
+        }
+    }
+    
+    public static String validateName(String input, String fieldName) throws NumericValueException, SpecialCharacterException, InvalidInputException {
+        int status = checkText(input, NAME);
+        switch (codeOf(status)) {
+            case VALID:
+                return input.trim();
+            case CONTAINS_DIGIT:
+                throw rejections(fieldName).numeric();
+            case SPECIAL_CHARACTER:
+                throw rejections(fieldName).special(messageSlot(status, NAME));
+            default:
+                throw rejections(fieldName).invalid(messageSlot(status, -1));
+        }
+    }
+    
+    public static String validateUsername(String input, String fieldName) throws SpecialCharacterException, InvalidInputException {
+        int status = checkText(input, USERNAME);
+        switch (codeOf(status)) {
+            case VALID:
+                return input.trim();
+            case SPECIAL_CHARACTER:
+                throw rejections(fieldName).special(messageSlot(status, USERNAME));
+            default:
+                throw rejections(fieldName).invalid(messageSlot(status, -1));
+        }
+    }
+    
+    public static String validateAlphabetsAndNumbers(String input, String fieldName) throws SpecialCharacterException, InvalidInputException {
+        int status = checkText(input, ALPHABETS_AND_NUMBERS);
+        switch (codeOf(status)) {
+            case VALID:
+                return input.trim();
+            case SPECIAL_CHARACTER:
+                throw rejections(fieldName).special(messageSlot(status, ALPHABETS_AND_NUMBERS));
+            default:
+                throw rejections(fieldName).invalid(messageSlot(status, -1));
+        }
+    }
+    
+    public static void validatePositiveInteger(String input, String fieldName) throws InvalidInputException {
+        long result = wholeNumber(input, true);
+        if (result < 0) {
+            throw rejections(fieldName).invalid(messageSlot((int) -result, -1));
+        }
+    }
+    
+    public static void validatePositiveDouble(String input, String fieldName) throws InvalidInputException {
+        double result = decimal(input, true);
+        if (result < 0) {
+            throw rejections(fieldName).invalid(messageSlot((int) -result, -1));
+        }
+    }
+    
+    /**
+     * Checks a whole number the way parsePositiveInteger, or parseAge when zero is not
+     * allowed, does but returns a status instead of throwing. The value of a valid
+     * number is stored in values[index].
+     */
+    public static int checkWholeNumber(CharSequence input, boolean allowZero, int[] values, int index) {
+        long result = wholeNumber(input, allowZero);
+        if (result < 0) {
+            return (int) -result;
+        }
+        values[index] = (int) result;
+        return VALID;
+    }
+    
+    // Checks a whole number, returning its value when valid and minus its status otherwise
+    private static long wholeNumber(CharSequence input, boolean allowZero) {
+        if (input == null || isBlank(input)) {
+            return -EMPTY;
+        }
+        int start = trimStart(input);
+        int end = trimEnd(input, start);
+        int dot = indexOf(input, '.', start, end);
+        if (dot >= 0) {
+            return -status(DECIMAL, dot);
+        }
+        long value = scanInt(input, start, end);
+        if (value == NOT_AN_INT) {
+            return -status(NOT_AN_INTEGER, intErrorPosition(input, start, end));
+        }
+        if (value < 0) {
+            return -status(NEGATIVE, start);
+        }
+        if (value == 0 && !allowZero) {
+            return -status(ZERO, start);
+        }
+        return value;
+    }
+    
+    /**
+     * Checks a number the way parsePositiveDouble, or parsePositiveDoubleNoZero when
+     * zero is not allowed, does but returns a status instead of throwing. The value of a
+     * valid number is stored in values[index].
+     */
+    public static int checkDecimal(CharSequence input, boolean allowZero, double[] values, int index) {
+        double result = decimal(input, allowZero);
+        if (result < 0) {
+            return (int) -result;
+        }
+        values[index] = result;
+        return VALID;
+    }
+    
+    // Checks a number, returning its value when valid and minus its status otherwise.
+    // A valid value is never below zero, though it can be NaN or infinite as with
+    // Double.parseDouble, so callers test result < 0 for a rejection.
+    private static double decimal(CharSequence input, boolean allowZero) {
+        if (input == null || isBlank(input)) {
+            return -EMPTY;
+        }
+        int start = trimStart(input);
+        int end = trimEnd(input, start);
+        double value = scanDecimal(input, start, end);
+        if (Double.isNaN(value)) {
+            try {
+                value = Double.parseDouble(input.subSequence(start, end).toString());
+            } catch (NumberFormatException e) {
+                return -status(NOT_A_NUMBER, start);
             }
-            return value;
-        } catch (NumberFormatException e) {
-            throw new InvalidInputException(fieldName + " must be a valid integer");
         }
+        if (value < 0) {
+            return -status(NEGATIVE, start);
+        }
+        if (value == 0 && !allowZero) {
+            return -status(ZERO, start);
+        }
+        return value;
     }
     
-    public static int parseAge(String input, String fieldName) throws DecimalValueException, NegativeValueException, ZeroValueException, InvalidInputException {
-        if (input == null || input.trim().isEmpty()) {
-            throw new InvalidInputException(fieldName + " cannot be empty");
+    /**
+     * Checks text against NAME, USERNAME or ALPHABETS_AND_NUMBERS the way the matching
+     * validate method does but returns a status instead of throwing.
+     */
+    public static int checkText(CharSequence input, int rule) {
+        if (input == null || isBlank(input)) {
+            return EMPTY;
         }
-        
-        String trimmed = input.trim();
-        
-        if (trimmed.contains(".")) {
-            throw new DecimalValueException(fieldName + " cannot have decimal values. Please enter a whole number.");
+        int start = trimStart(input);
+        int end = trimEnd(input, start);
+        if (rule == NAME) {
+            int digit = digitOnOneLine(input, start, end);
+            if (digit >= 0) {
+                return status(CONTAINS_DIGIT, digit);
+            }
         }
-        
-        try {
-            int value = Integer.parseInt(trimmed);
-            if (value < 0) {
-                throw new NegativeValueException(fieldName + " cannot be negative. Please enter a positive value.");
+        int invalid = firstOutsideClass(input, start, end, RULE_CHARS[rule]);
+        return invalid < 0 ? VALID : status(SPECIAL_CHARACTER, invalid);
+    }
+    
+    /**
+     * Checks inputs[from] to inputs[to - 1] with checkWholeNumber, storing the status of
+     * each input in statuses and the value of each valid one in values at the same
+     * index. Returns how many inputs were rejected. Separate ranges of the same arrays
+     * can be checked from separate threads.
+     */
+    public static int checkWholeNumbers(CharSequence[] inputs, int from, int to, boolean allowZero,
+                                        int[] values, int[] statuses) {
+        int rejected = 0;
+        for (int i = from; i < to; i++) {
+            statuses[i] = checkWholeNumber(inputs[i], allowZero, values, i);
+            if (statuses[i] != VALID) {
+                rejected++;
             }
-            if (value == 0) {
-                throw new ZeroValueException(fieldName + " cannot be zero. Please enter a value greater than zero.");
+        }
+        return rejected;
+    }
+    
+    /**
+     * Checks inputs[from] to inputs[to - 1] with checkDecimal, like checkWholeNumbers.
+     */
+    public static int checkDecimals(CharSequence[] inputs, int from, int to, boolean allowZero,
+                                    double[] values, int[] statuses) {
+        int rejected = 0;
+        for (int i = from; i < to; i++) {
+            statuses[i] = checkDecimal(inputs[i], allowZero, values, i);
+            if (statuses[i] != VALID) {
+                rejected++;
             }
-            return value;
-        } catch (NumberFormatException e) {
-            throw new InvalidInputException(fieldName + " must be a valid integer");
         }
+        return rejected;
     }
     
-    public static int parsePositiveInteger(String input, String fieldName) throws DecimalValueException, NegativeValueException, InvalidInputException {
-        if (input == null || input.trim().isEmpty()) {
-            throw new InvalidInputException(fieldName + " cannot be empty");
+    /**
+     * Checks inputs[from] to inputs[to - 1] with checkText, like checkWholeNumbers.
+     */
+    public static int checkTexts(CharSequence[] inputs, int from, int to, int rule, int[] statuses) {
+        int rejected = 0;
+        for (int i = from; i < to; i++) {
+            statuses[i] = checkText(inputs[i], rule);
+            if (statuses[i] != VALID) {
+                rejected++;
+            }
         }
+        return rejected;
+    }
+    
+    /**
+     * Checks inputs[from] to inputs[to - 1] like checkWholeNumbers, splitting the range
+     * into tasks run by the pool, and waits for them to finish.
+     */
+    public static int checkWholeNumbers(CharSequence[] inputs, int from, int to, boolean allowZero,
+                                        int[] values, int[] statuses, ForkJoinPool pool) {
+        return pool.invoke(new BulkCheck(BulkCheck.WHOLE_NUMBERS, inputs, from, to, allowZero, 0, values, null, statuses));
+    }
+    
+    /**
+     * Checks inputs[from] to inputs[to - 1] like checkDecimals, in parallel on the pool.
+     */
+    public static int checkDecimals(CharSequence[] inputs, int from, int to, boolean allowZero,
+                                    double[] values, int[] statuses, ForkJoinPool pool) {
+        return pool.invoke(new BulkCheck(BulkCheck.DECIMALS, inputs, from, to, allowZero, 0, null, values, statuses));
+    }
+    
+    /**
+     * Checks inputs[from] to inputs[to - 1] like checkTexts, in parallel on the pool.
+     */
+    public static int checkTexts(CharSequence[] inputs, int from, int to, int rule, int[] statuses, ForkJoinPool pool) {
+        return pool.invoke(new BulkCheck(BulkCheck.TEXTS, inputs, from, to, false, rule, null, null, statuses));
+    }
+    
+    // Halves its range until it is at most BULK_CHUNK inputs, then checks it in place
+    private static class BulkCheck extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+        static final int WHOLE_NUMBERS = 0;
+        static final int DECIMALS = 1;
+        static final int TEXTS = 2;
         
-        String trimmed = input.trim();
+        private final int kind;
+        private final CharSequence[] inputs;
+        private final int from;
+        private final int to;
+        private final boolean allowZero;
+        private final int rule;
+        private final int[] wholeNumbers;
+        private final double[] decimals;
+        private final int[] statuses;
         
-        if (trimmed.contains(".")) {
-            throw new DecimalValueException(fieldName + " cannot have decimal values. Please enter a whole number.");
+        BulkCheck(int kind, CharSequence[] inputs, int from, int to, boolean allowZero, int rule,
+                  int[] wholeNumbers, double[] decimals, int[] statuses) {
+            this.kind = kind;
+            this.inputs = inputs;
+            this.from = from;
+            this.to = to;
+            this.allowZero = allowZero;
+            this.rule = rule;
+            this.wholeNumbers = wholeNumbers;
+            this.decimals = decimals;
+            this.statuses = statuses;
         }
         
-        try {
-            int value = Integer.parseInt(trimmed);
-            if (value < 0) {
-                throw new NegativeValueException(fieldName + " cannot be negative. Please enter a positive value.");
+        @Override
+        protected Integer compute() {
+            if (to - from <= BULK_CHUNK) {
+                switch (kind) {
+                    case WHOLE_NUMBERS:
+                        return checkWholeNumbers(inputs, from, to, allowZero, wholeNumbers, statuses);
+                    case DECIMALS:
+                        return checkDecimals(inputs, from, to, allowZero, decimals, statuses);
+                    default:
+                        return checkTexts(inputs, from, to, rule, statuses);
+                }
             }
-            return value;
-        } catch (NumberFormatException e) {
-            throw new InvalidInputException(fieldName + " must be a valid integer");
+            int middle = (from + to) >>> 1;
+            BulkCheck first = new BulkCheck(kind, inputs, from, middle, allowZero, rule, wholeNumbers, decimals, statuses);
+            BulkCheck second = new BulkCheck(kind, inputs, middle, to, allowZero, rule, wholeNumbers, decimals, statuses);
+            first.fork();
+            return second.compute() + first.join();
         }
     }
     
-    public static double parsePositiveDouble(String input, String fieldName) throws NegativeValueException, InvalidInputException {
-        if (input == null || input.trim().isEmpty()) {
-            throw new InvalidInputException(fieldName + " cannot be empty");
+    /**
+     * Returns the result code of a status: VALID, EMPTY, DECIMAL and so on.
+     */
+    public static int codeOf(int status) {
+        return status & CODE_MASK;
+    }
+    
+    /**
+     * Returns the index in the untrimmed input of the character a status points at, such
+     * as the decimal point or the first special character. It is 0 for VALID and EMPTY.
+     */
+    public static int positionOf(int status) {
+        return status >>> CODE_BITS;
+    }
+    
+    /**
+     * Returns the message the parse and validate methods throw for a status. The rule is
+     * the text rule that was checked, or -1 for numbers.
+     */
+    public static String message(int status, String fieldName, int rule) {
+        return rejections(fieldName).message(messageSlot(status, rule));
+    }
+    
+    /**
+     * Turns stack traces of the exceptions thrown by the parse and validate methods on
+     * or off. They are on by default. While they are off the exceptions are reused and
+     * only their message is meaningful, which is all a dialog showing it needs.
+     */
+    public static void setStackTraces(boolean enabled) {
+        stackTraces = enabled;
+    }
+    
+    public static boolean hasStackTraces() {
+        return stackTraces;
+    }
+    
+    /**
+     * Returns true if the text is empty or only holds characters String.trim() removes.
+     */
+    public static boolean isBlank(CharSequence input) {
+        return trimStart(input) == input.length();
+    }
+    
+    /**
+     * Returns true if validateName would accept the text.
+     */
+    public static boolean isValidName(CharSequence input) {
+        return checkText(input, NAME) == VALID;
+    }
+    
+    /**
+     * Returns true if validateUsername would accept the text.
+     */
+    public static boolean isValidUsername(CharSequence input) {
+        return checkText(input, USERNAME) == VALID;
+    }
+    
+    /**
+     * Returns true if validateAlphabetsAndNumbers would accept the text.
+     */
+    public static boolean isValidAlphabetsAndNumbers(CharSequence input) {
+        return checkText(input, ALPHABETS_AND_NUMBERS) == VALID;
+    }
+    
+    /**
+     * Parses the text between start and end the way Integer.parseInt does, or returns
+     * NOT_AN_INT. Nothing is allocated.
+     */
+    public static long scanInt(CharSequence input, int start, int end) {
+        if (start >= end) {
+            return NOT_AN_INT;
         }
-        
-        try {
-            double value = Double.parseDouble(input.trim());
-            if (value < 0) {
-                throw new NegativeValueException(fieldName + " cannot be negative. Please enter a positive value.");
+        boolean negative = false;
+        char first = input.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+            if (start == end) {
+                return NOT_AN_INT;
+            }
+        }
+        // Accumulated as a negative number, which has the larger range
+        long limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(input.charAt(i), 10);
+            if (digit < 0) {
+                return NOT_AN_INT;
+            }
+            result = result * 10 - digit;
+            if (result < limit) {
+                return NOT_AN_INT;
             }
-            return value;
-        } catch (NumberFormatException e) {
-            throw new InvalidInputException(fieldName + " must be a valid number");
         }
+        return negative ? result : -result;
     }
     
-    public static double parsePositiveDoubleNoZero(String input, String fieldName) throws NegativeValueException, ZeroValueException, InvalidInputException {
-        if (input == null || input.trim().isEmpty()) {
-            throw new InvalidInputException(fieldName + " cannot be empty");
+    /**
+     * Parses the text between start and end to the value Double.parseDouble gives, or
+     * returns NaN if it is not a number. Plain decimals of up to 15 digits are converted
+     * without allocating; anything else goes through Double.parseDouble.
+     */
+    public static double scanDouble(CharSequence input, int start, int end) {
+        double value = scanDecimal(input, start, end);
+        if (!Double.isNaN(value)) {
+            return value;
         }
-        
         try {
-            double value = Double.parseDouble(input.trim());
-            if (value < 0) {
-                throw new NegativeValueException(fieldName + " cannot be negative. Please enter a positive value.");
-            }
-            if (value == 0) {
-                throw new ZeroValueException(fieldName + " cannot be zero. Please enter a value greater than zero.");
-            }
-            return value;
+            return Double.parseDouble(input.subSequence(start, end).toString());
         } catch (NumberFormatException e) {
-            throw new InvalidInputException(fieldName + " must be a valid number");
+            return Double.NaN;
         }
     }
     
-    public static String validateName(String input, String fieldName) throws NumericValueException, SpecialCharacterException, InvalidInputException {
-        if (input == null || input.trim().isEmpty()) {
-            throw new InvalidInputException(fieldName + " cannot be empty");
+    // Plain [+-]digits[.digits] with at most 15 digits, or NaN for anything else
+    private static double scanDecimal(CharSequence input, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+            negative = input.charAt(i) == '-';
+            i++;
         }
-        
-        String trimmed = input.trim();
-        
-        if (trimmed.matches(".*\\d.*")) {
-            throw new NumericValueException(fieldName + " cannot contain numbers. Please enter only alphabets.");
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
         }
-        
-        if (!trimmed.matches("^[a-zA-Z\\s]+$")) {
-            throw new SpecialCharacterException(fieldName + " cannot contain special characters. Please enter only alphabets.");
+        if (i == end && digits > 0 && digits <= MAX_FAST_DIGITS) {
+            // Both operands are exact, so the quotient is the correctly rounded value
+            double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
         }
-        
-        return trimmed;
+        return Double.NaN;
     }
     
-    public static String validateUsername(String input, String fieldName) throws SpecialCharacterException, InvalidInputException {
-        if (input == null || input.trim().isEmpty()) {
-            throw new InvalidInputException(fieldName + " cannot be empty");
+    // Index of the first character String.trim() keeps
+    static int trimStart(CharSequence input) {
+        int start = 0;
+        int length = input.length();
+        while (start < length && input.charAt(start) <= ' ') {
+            start++;
         }
-        
-        String trimmed = input.trim();
-        
-        if (!trimmed.matches("^[a-zA-Z0-9_]+$")) {
-            throw new SpecialCharacterException(fieldName + " cannot contain special characters. Only alphabets, numbers, and underscore are allowed.");
+        return start;
+    }
+    
+    // Index after the last character String.trim() keeps
+    static int trimEnd(CharSequence input, int start) {
+        int end = input.length();
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
         }
-        
-        return trimmed;
+        return end;
     }
     
-    public static String validateAlphabetsAndNumbers(String input, String fieldName) throws SpecialCharacterException, InvalidInputException {
-        if (input == null || input.trim().isEmpty()) {
-            throw new InvalidInputException(fieldName + " cannot be empty");
+    private static Rejections rejections(String fieldName) {
+        String key = String.valueOf(fieldName);
+        Rejections rejections = REJECTIONS.get(key);
+        if (rejections == null) {
+            rejections = new Rejections(key);
+            if (REJECTIONS.size() < MAX_CACHED_FIELDS) {
+                Rejections previous = REJECTIONS.putIfAbsent(key, rejections);
+                if (previous != null) {
+                    rejections = previous;
+                }
+            }
         }
-        
-        String trimmed = input.trim();
-        
-        if (!trimmed.matches("^[a-zA-Z0-9\\s]+$")) {
-            throw new SpecialCharacterException(fieldName + " cannot contain special characters. Only alphabets and numbers are allowed.");
+        return rejections;
+    }
+    
+    private static int messageSlot(int status, int rule) {
+        int code = codeOf(status);
+        return code == SPECIAL_CHARACTER ? SPECIAL_CHARACTER + Math.max(rule, 0) : code;
+    }
+    
+    private static int status(int code, int position) {
+        return code | position << CODE_BITS;
+    }
+    
+    // Where Integer.parseInt gives up: a lone sign, the first non-digit or the digit that overflows
+    private static int intErrorPosition(CharSequence input, int start, int end) {
+        int i = start;
+        char first = input.charAt(start);
+        if (first == '-' || first == '+') {
+            i++;
+            if (i == end) {
+                return start;
+            }
         }
-        
-        return trimmed;
+        long limit = first == '-' ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(input.charAt(i), 10);
+            if (digit < 0) {
+                return i;
+            }
+            result = result * 10 + digit;
+            if (result > limit) {
+                return i;
+            }
+        }
+        return start;
     }
     
-    public static void validatePositiveInteger(String input, String fieldName) throws InvalidInputException {
-        try {
-            parsePositiveInteger(input, fieldName);
-        } catch (DecimalValueException | NegativeValueException e) {
-            throw new InvalidInputException(e.getMessage());
+    private static int indexOf(CharSequence input, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (input.charAt(i) == c) {
+                return i;
+            }
         }
+        return -1;
     }
     
-    public static void validatePositiveDouble(String input, String fieldName) throws InvalidInputException {
-        try {
-            parsePositiveDouble(input, fieldName);
-        } catch (NegativeValueException e) {
-            throw new InvalidInputException(e.getMessage());
+    private static int firstOutsideClass(CharSequence input, int start, int end, int allowed) {
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= 128 || (CLASSES[c] & allowed) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    // Index of the first digit if the text matches ".*\d.*", else -1. As '.' does not
+    // match line terminators, a text spanning lines never matches.
+    private static int digitOnOneLine(CharSequence input, int start, int end) {
+        int digit = -1;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return -1;
+            }
+            if (digit < 0 && c < 128 && CLASSES[c] == DIGIT) {
+                digit = i;
+            }
         }
+        return digit;
     }
 }
@@ -0,0 +1,271 @@
+package wellnessapp.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands encoded records to the storage engine on a background thread so that saves
+ * made on the Swing event thread never wait for disk I/O. The queue is bounded: when
+ * the writer falls behind, enqueue blocks until there is room again.
+ * A change the storage engine fails to store stays pending and is retried with growing
+ * delays; until it is stored, flush and close report the failure.
+ */
+public class WriteBehindQueue {
+    private static final int CAPACITY = 1024;
+    private static final int MAX_BATCH = 256;
+    private static final long POLL_MILLIS = 100;
+    private static final long MIN_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_MILLIS = 10000;
+
+    private static class Change {
+        final byte kind;
+        final String username;
+        final byte[] payload;
+
+        Change(byte kind, String username, byte[] payload) {
+            this.kind = kind;
+            this.username = username;
+            this.payload = payload;
+        }
+
+        String key() {
+            return kind + ":" + username;
+        }
+    }
+
+    private final StorageEngine storage;
+    private final BlockingQueue<Change> queue;
+    // Latest change per record that the writer has not stored yet
+    private final Map<String, Change> pending;
+    private final Thread writer;
+    // Held while handing changes to storage, so two threads never write out of order
+    private final Object writeLock = new Object();
+    // Records whose newest pending change failed to store; guarded by writeLock
+    private final Set<String> failed = new LinkedHashSet<String>();
+    private long retryDelay = MIN_RETRY_MILLIS;
+    private long nextRetry;
+    private volatile IOException failure;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private volatile boolean closed;
+
+    public WriteBehindQueue(StorageEngine storage) {
+        this.storage = storage;
+        this.queue = new ArrayBlockingQueue<Change>(CAPACITY);
+        this.pending = new ConcurrentHashMap<String, Change>();
+
+        this.writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runWriteLoop();
+            }
+        }, "fitpro-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a change and returns as soon as there is room for it. After the queue is
+     * closed the caller stores the change itself, and an IOException means it is still
+     * pending.
+     */
+    public void enqueue(byte kind, String username, byte[] payload) throws IOException {
+        Change change = new Change(kind, username, payload);
+        pending.put(change.key(), change);
+        enqueuedCount.incrementAndGet();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(change);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (closed) {
+            // The writer may have stopped already
+            drainRemaining();
+            checkFailure();
+        }
+    }
+
+    /**
+     * Returns the newest payload still waiting to be written for the record, or null.
+     * Lets reads see changes the writer has not reached yet.
+     */
+    public byte[] pendingPayload(byte kind, String username) {
+        Change change = pending.get(kind + ":" + username);
+        return change == null ? null : change.payload;
+    }
+
+    /**
+     * Blocks until every change queued before the call has been handed to storage and
+     * storage has made it durable. Throws if a change is still waiting for a retry.
+     */
+    public void flush() throws IOException {
+        long target = enqueuedCount.get();
+        synchronized (this) {
+            while (writtenCount.get() < target && writer.isAlive()) {
+                try {
+                    wait(POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        storage.flush();
+        checkFailure();
+    }
+
+    /**
+     * Stops the writer after it has drained the queue, then tries once more to store
+     * the changes that failed. Throws if any of them is still not stored.
+     */
+    public void close() throws IOException {
+        closed = true;
+        drainRemaining();
+        checkFailure();
+    }
+
+    // Only runs once the writer has stopped, so the remaining changes are stored in order.
+    // Without the writer nothing retries failed changes later, so they are retried here.
+    private void drainRemaining() {
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            List<Change> rest = new ArrayList<Change>();
+            queue.drainTo(rest);
+            writeBatch(rest);
+            retryFailed();
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        IOException cause = failure;
+        if (cause != null) {
+            throw new IOException("Changes could not be stored: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void runWriteLoop() {
+        List<Change> batch = new ArrayList<Change>(MAX_BATCH);
+        while (true) {
+            long wait = POLL_MILLIS;
+            synchronized (writeLock) {
+                if (!failed.isEmpty()) {
+                    wait = nextRetry - System.currentTimeMillis();
+                    if (wait <= 0) {
+                        retryFailed();
+                        wait = failed.isEmpty() ? POLL_MILLIS : retryDelay;
+                    }
+                    wait = Math.max(1, Math.min(POLL_MILLIS, wait));
+                }
+            }
+            Change first;
+            try {
+                first = queue.poll(wait, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            batch.clear();
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH - 1);
+            synchronized (writeLock) {
+                writeBatch(batch);
+            }
+        }
+    }
+
+    // Only the newest change per record in a batch is written; called holding writeLock
+    private void writeBatch(List<Change> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, Change> latest = new LinkedHashMap<String, Change>();
+        for (Change change : batch) {
+            latest.put(change.key(), change);
+        }
+        for (Map.Entry<String, Change> entry : latest.entrySet()) {
+            store(entry.getValue());
+        }
+        markWritten(batch.size());
+    }
+
+    // Stores the newest pending change of every failed record; called holding writeLock
+    private void retryFailed() {
+        for (String key : new ArrayList<String>(failed)) {
+            Change change = pending.get(key);
+            if (change == null) {
+                // Superseded by a newer change that has been stored since
+                failed.remove(key);
+            } else {
+                store(change);
+            }
+        }
+        if (failed.isEmpty()) {
+            failure = null;
+            retryDelay = MIN_RETRY_MILLIS;
+        } else {
+            retryDelay = Math.min(MAX_RETRY_MILLIS, retryDelay * 2);
+            nextRetry = System.currentTimeMillis() + retryDelay;
+        }
+    }
+
+    private boolean store(Change change) {
+        String key = change.key();
+        try {
+            storage.put(change.kind, change.username, change.payload);
+        } catch (IOException e) {
+            System.err.println("Failed to store change for " + change.username + ", will retry: " + e.getMessage());
+            failure = e;
+            if (failed.add(key) && failed.size() == 1) {
+                nextRetry = System.currentTimeMillis() + retryDelay;
+            }
+            return false;
+        }
+        pending.remove(key, change);
+        failed.remove(key);
+        if (failed.isEmpty()) {
+            failure = null;
+            retryDelay = MIN_RETRY_MILLIS;
+        }
+        return true;
+    }
+
+    private void markWritten(int count) {
+        writtenCount.addAndGet(count);
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+}